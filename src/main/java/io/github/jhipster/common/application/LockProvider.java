@@ -0,0 +1,28 @@
+package io.github.jhipster.common.application;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Named locks shared by all the instances of the application, held under an expiring lease.
+ */
+public interface LockProvider {
+    /**
+     * Take the named lock if no other owner holds an unexpired lease on it.
+     *
+     * @param name the lock name.
+     * @param leaseTime the time after which the lease expires if not released.
+     * @return the lease, or empty if the lock is held by another owner.
+     */
+    Optional<Lease> tryLock(String name, Duration leaseTime);
+
+    interface Lease {
+        /**
+         * Release the lock, recording the outcome of the run as the last-run state of the lock.
+         *
+         * @param minHold the minimum time the lock stays held since it was taken.
+         * @param succeeded whether the guarded run succeeded.
+         */
+        void unlock(Duration minHold, boolean succeeded);
+    }
+}
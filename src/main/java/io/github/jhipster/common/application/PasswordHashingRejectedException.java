@@ -0,0 +1,13 @@
+package io.github.jhipster.common.application;
+
+/**
+ * Thrown when the password hashing executor is saturated and can not accept more work.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException() {
+        super("Password hashing capacity exceeded, please retry later");
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.jhipster.common.application;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a {@code void} method on a single instance at a time, under a lease taken from the {@link LockProvider}.
+ * <p>
+ * An instance failing to take the lease skips the call. The lease expires after {@link #leaseSeconds()} should the
+ * owner die, and is kept for at least {@link #minHoldSeconds()} so that instances whose clocks or triggers lag a bit
+ * behind do not run the same trigger again.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SchedulerLock {
+    /**
+     * Name of the lock, shared by all the instances.
+     */
+    String name();
+
+    /**
+     * Longest expected run time, after which another instance may take the lease.
+     */
+    long leaseSeconds();
+
+    long minHoldSeconds() default 0;
+}
@@ -147,7 +147,7 @@ public final class Assert {
         public StringAsserter format(String regex) {
             Assert.notNull("regex", regex);
 
-            if (invalidFormat(regex)) {
+            if (value != null && invalidFormat(regex)) {
                 throw StringFormatException.wrongFormat(fieldName, regex, value);
             }
 
@@ -1,6 +1,9 @@
 package io.github.jhipster.common.infrastructure.config;
 
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Jhipster Minimal.
@@ -9,4 +12,656 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Security security = new Security();
+
+    private final Cache cache = new Cache();
+
+    private final Scheduling scheduling = new Scheduling();
+
+    private final Mail mail = new Mail();
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Scheduling getScheduling() {
+        return scheduling;
+    }
+
+    public Mail getMail() {
+        return mail;
+    }
+
+    public static class Mail {
+
+        private final Outbox outbox = new Outbox();
+
+        public Outbox getOutbox() {
+            return outbox;
+        }
+
+        /**
+         * Emails are queued in the {@code jhi_mail_outbox} table and sent by batches, retried with an exponential backoff.
+         */
+        public static class Outbox {
+
+            private long pollIntervalMs = 1000;
+
+            private int batchSize = 50;
+
+            private int maxAttempts = 8;
+
+            private long initialBackoffSeconds = 30;
+
+            private long maxBackoffSeconds = 3600;
+
+            /**
+             * Base64-encoded AES key (16, 24 or 32 bytes) encrypting the activation and reset keys of the queued emails.
+             */
+            private String base64Secret;
+
+            public long getPollIntervalMs() {
+                return pollIntervalMs;
+            }
+
+            public void setPollIntervalMs(long pollIntervalMs) {
+                this.pollIntervalMs = pollIntervalMs;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+
+            public long getInitialBackoffSeconds() {
+                return initialBackoffSeconds;
+            }
+
+            public void setInitialBackoffSeconds(long initialBackoffSeconds) {
+                this.initialBackoffSeconds = initialBackoffSeconds;
+            }
+
+            public long getMaxBackoffSeconds() {
+                return maxBackoffSeconds;
+            }
+
+            public void setMaxBackoffSeconds(long maxBackoffSeconds) {
+                this.maxBackoffSeconds = maxBackoffSeconds;
+            }
+
+            public String getBase64Secret() {
+                return base64Secret;
+            }
+
+            public void setBase64Secret(String base64Secret) {
+                this.base64Secret = base64Secret;
+            }
+        }
+    }
+
+    public static class Scheduling {
+
+        private final Lock lock = new Lock();
+
+        public Lock getLock() {
+            return lock;
+        }
+
+        public static class Lock {
+
+            /**
+             * Disable to run the jobs annotated with {@code @SchedulerLock} on every instance, without taking a lease.
+             */
+            private boolean enabled = true;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Per-cache settings, by cache name. Caches not listed here use {@code jhipster.cache.ehcache}, except the
+         * verifiedTokens and verifiedCredentials caches, sized by their {@code application.security.authentication} settings.
+         */
+        private final Map<String, Region> regions = new HashMap<>();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        private final Principals principals = new Principals();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public Principals getPrincipals() {
+            return principals;
+        }
+
+        public static class Principals {
+
+            /**
+             * Entries read after being cached for longer than this are reloaded in the background, 0 to disable.
+             */
+            private long refreshAfterSeconds = 0;
+
+            private final WarmUp warmUp = new WarmUp();
+
+            public long getRefreshAfterSeconds() {
+                return refreshAfterSeconds;
+            }
+
+            public void setRefreshAfterSeconds(long refreshAfterSeconds) {
+                this.refreshAfterSeconds = refreshAfterSeconds;
+            }
+
+            public WarmUp getWarmUp() {
+                return warmUp;
+            }
+
+            /**
+             * Snapshot of the most recently loaded logins, written on shutdown and reloaded at startup.
+             */
+            public static class WarmUp {
+
+                private boolean enabled = false;
+
+                private String file = "principals-warm-up.txt";
+
+                private int maxEntries = 10000;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public String getFile() {
+                    return file;
+                }
+
+                public void setFile(String file) {
+                    this.file = file;
+                }
+
+                public int getMaxEntries() {
+                    return maxEntries;
+                }
+
+                public void setMaxEntries(int maxEntries) {
+                    this.maxEntries = maxEntries;
+                }
+            }
+        }
+
+        public static class Invalidation {
+
+            /**
+             * {@code loopback} for a single instance, {@code database} to share evictions between instances.
+             */
+            private String type = "loopback";
+
+            private long flushIntervalMs = 200;
+
+            private long pollIntervalMs = 1000;
+
+            /**
+             * Rows created up to this long before the newest row seen are read again, so that the rows committed late
+             * or stamped by an instance with a slower clock are not skipped.
+             */
+            private long pollOverlapMs = 10000;
+
+            private long purgeIntervalMs = 60000;
+
+            private long retentionSeconds = 600;
+
+            public String getType() {
+                return type;
+            }
+
+            public void setType(String type) {
+                this.type = type;
+            }
+
+            public long getFlushIntervalMs() {
+                return flushIntervalMs;
+            }
+
+            public void setFlushIntervalMs(long flushIntervalMs) {
+                this.flushIntervalMs = flushIntervalMs;
+            }
+
+            public long getPollIntervalMs() {
+                return pollIntervalMs;
+            }
+
+            public void setPollIntervalMs(long pollIntervalMs) {
+                this.pollIntervalMs = pollIntervalMs;
+            }
+
+            public long getPollOverlapMs() {
+                return pollOverlapMs;
+            }
+
+            public void setPollOverlapMs(long pollOverlapMs) {
+                this.pollOverlapMs = pollOverlapMs;
+            }
+
+            public long getPurgeIntervalMs() {
+                return purgeIntervalMs;
+            }
+
+            public void setPurgeIntervalMs(long purgeIntervalMs) {
+                this.purgeIntervalMs = purgeIntervalMs;
+            }
+
+            public long getRetentionSeconds() {
+                return retentionSeconds;
+            }
+
+            public void setRetentionSeconds(long retentionSeconds) {
+                this.retentionSeconds = retentionSeconds;
+            }
+        }
+
+        public enum Expiry {
+            TIME_TO_LIVE,
+            TIME_TO_IDLE,
+        }
+
+        public static class Region {
+
+            private Long heapEntries;
+
+            private DataSize heapSize;
+
+            private DataSize offHeapSize;
+
+            private Expiry expiry = Expiry.TIME_TO_LIVE;
+
+            private Long timeToLiveSeconds;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public DataSize getHeapSize() {
+                return heapSize;
+            }
+
+            public void setHeapSize(DataSize heapSize) {
+                this.heapSize = heapSize;
+            }
+
+            public DataSize getOffHeapSize() {
+                return offHeapSize;
+            }
+
+            public void setOffHeapSize(DataSize offHeapSize) {
+                this.offHeapSize = offHeapSize;
+            }
+
+            public Expiry getExpiry() {
+                return expiry;
+            }
+
+            public void setExpiry(Expiry expiry) {
+                this.expiry = expiry;
+            }
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+        }
+    }
+
+    public static class Security {
+
+        private final Authentication authentication = new Authentication();
+
+        private final PasswordHashing passwordHashing = new PasswordHashing();
+
+        private final PasswordEncoding passwordEncoding = new PasswordEncoding();
+
+        private final KnownPrincipals knownPrincipals = new KnownPrincipals();
+
+        public Authentication getAuthentication() {
+            return authentication;
+        }
+
+        public PasswordHashing getPasswordHashing() {
+            return passwordHashing;
+        }
+
+        public PasswordEncoding getPasswordEncoding() {
+            return passwordEncoding;
+        }
+
+        public KnownPrincipals getKnownPrincipals() {
+            return knownPrincipals;
+        }
+
+        public static class KnownPrincipals {
+
+            private boolean enabled = false;
+
+            private long expectedPrincipals = 1000000;
+
+            private double falsePositiveProbability = 0.01;
+
+            private long refreshIntervalMs = 3600000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getExpectedPrincipals() {
+                return expectedPrincipals;
+            }
+
+            public void setExpectedPrincipals(long expectedPrincipals) {
+                this.expectedPrincipals = expectedPrincipals;
+            }
+
+            public double getFalsePositiveProbability() {
+                return falsePositiveProbability;
+            }
+
+            public void setFalsePositiveProbability(double falsePositiveProbability) {
+                this.falsePositiveProbability = falsePositiveProbability;
+            }
+
+            public long getRefreshIntervalMs() {
+                return refreshIntervalMs;
+            }
+
+            public void setRefreshIntervalMs(long refreshIntervalMs) {
+                this.refreshIntervalMs = refreshIntervalMs;
+            }
+        }
+
+        public static class PasswordEncoding {
+
+            private String encodingId = "bcrypt";
+
+            private final Bcrypt bcrypt = new Bcrypt();
+
+            private final Pbkdf2 pbkdf2 = new Pbkdf2();
+
+            private final Argon2 argon2 = new Argon2();
+
+            public String getEncodingId() {
+                return encodingId;
+            }
+
+            public void setEncodingId(String encodingId) {
+                this.encodingId = encodingId;
+            }
+
+            public Bcrypt getBcrypt() {
+                return bcrypt;
+            }
+
+            public Pbkdf2 getPbkdf2() {
+                return pbkdf2;
+            }
+
+            public Argon2 getArgon2() {
+                return argon2;
+            }
+
+            public static class Bcrypt {
+
+                private int strength = 10;
+
+                public int getStrength() {
+                    return strength;
+                }
+
+                public void setStrength(int strength) {
+                    this.strength = strength;
+                }
+            }
+
+            public static class Pbkdf2 {
+
+                private String secret = "";
+
+                private int iterations = 185000;
+
+                private int hashWidth = 256;
+
+                public String getSecret() {
+                    return secret;
+                }
+
+                public void setSecret(String secret) {
+                    this.secret = secret;
+                }
+
+                public int getIterations() {
+                    return iterations;
+                }
+
+                public void setIterations(int iterations) {
+                    this.iterations = iterations;
+                }
+
+                public int getHashWidth() {
+                    return hashWidth;
+                }
+
+                public void setHashWidth(int hashWidth) {
+                    this.hashWidth = hashWidth;
+                }
+            }
+
+            public static class Argon2 {
+
+                private int saltLength = 16;
+
+                private int hashLength = 32;
+
+                private int parallelism = 1;
+
+                private int memory = 4096;
+
+                private int iterations = 3;
+
+                public int getSaltLength() {
+                    return saltLength;
+                }
+
+                public void setSaltLength(int saltLength) {
+                    this.saltLength = saltLength;
+                }
+
+                public int getHashLength() {
+                    return hashLength;
+                }
+
+                public void setHashLength(int hashLength) {
+                    this.hashLength = hashLength;
+                }
+
+                public int getParallelism() {
+                    return parallelism;
+                }
+
+                public void setParallelism(int parallelism) {
+                    this.parallelism = parallelism;
+                }
+
+                public int getMemory() {
+                    return memory;
+                }
+
+                public void setMemory(int memory) {
+                    this.memory = memory;
+                }
+
+                public int getIterations() {
+                    return iterations;
+                }
+
+                public void setIterations(int iterations) {
+                    this.iterations = iterations;
+                }
+            }
+        }
+
+        public static class PasswordHashing {
+
+            private int concurrency = Runtime.getRuntime().availableProcessors();
+
+            private int queueCapacity = 100;
+
+            public int getConcurrency() {
+                return concurrency;
+            }
+
+            public void setConcurrency(int concurrency) {
+                this.concurrency = concurrency;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+        }
+
+        public static class Authentication {
+
+            private final Jwt jwt = new Jwt();
+
+            private final CredentialCache credentialCache = new CredentialCache();
+
+            public Jwt getJwt() {
+                return jwt;
+            }
+
+            public CredentialCache getCredentialCache() {
+                return credentialCache;
+            }
+
+            public static class CredentialCache {
+
+                private boolean enabled = false;
+
+                private int maxEntries = 1000;
+
+                private long timeToLiveSeconds = 60;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public int getMaxEntries() {
+                    return maxEntries;
+                }
+
+                public void setMaxEntries(int maxEntries) {
+                    this.maxEntries = maxEntries;
+                }
+
+                public long getTimeToLiveSeconds() {
+                    return timeToLiveSeconds;
+                }
+
+                public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+                    this.timeToLiveSeconds = timeToLiveSeconds;
+                }
+            }
+
+            public static class Jwt {
+
+                private final Cache cache = new Cache();
+
+                public Cache getCache() {
+                    return cache;
+                }
+
+                public static class Cache {
+
+                    private boolean enabled = false;
+
+                    private int maxEntries = 10000;
+
+                    private long timeToLiveSeconds = 300;
+
+                    public boolean isEnabled() {
+                        return enabled;
+                    }
+
+                    public void setEnabled(boolean enabled) {
+                        this.enabled = enabled;
+                    }
+
+                    public int getMaxEntries() {
+                        return maxEntries;
+                    }
+
+                    public void setMaxEntries(int maxEntries) {
+                        this.maxEntries = maxEntries;
+                    }
+
+                    public long getTimeToLiveSeconds() {
+                        return timeToLiveSeconds;
+                    }
+
+                    public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+                        this.timeToLiveSeconds = timeToLiveSeconds;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.jhipster.common.infrastructure.config;
+
+import io.github.jhipster.common.application.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} running the hashing of its delegate on a dedicated bounded executor, so that a burst of
+ * logins or password changes can not pin every request thread.
+ * <p>
+ * When both the workers and the queue are busy, the call fails fast with a {@link PasswordHashingRejectedException}.
+ */
+public class BulkheadPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final String METRIC_NAME = "security.password.hashing";
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer waitTimer;
+
+    private final Counter rejections;
+
+    public BulkheadPasswordEncoder(PasswordEncoder delegate, int concurrency, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor =
+            new ThreadPoolExecutor(
+                concurrency,
+                concurrency,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-")
+            );
+        this.waitTimer = Timer.builder(METRIC_NAME + ".wait").register(meterRegistry);
+        this.rejections = Counter.builder(METRIC_NAME + ".rejected").register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".queue", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Supplier<T> hashing) {
+        long submitted = System.nanoTime();
+        Future<T> result;
+        try {
+            result =
+                executor.submit(
+                    () -> {
+                        waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                        return hashing.get();
+                    }
+                );
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordHashingRejectedException();
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package io.github.jhipster.common.infrastructure.config;
 
+import io.github.jhipster.common.infrastructure.primary.jwt.VerifiedTokenCache;
+import io.github.jhipster.user.application.UserPrincipalIndex;
+import io.github.jhipster.user.application.VerifiedCredentialCache;
 import io.github.jhipster.user.infrastructure.secondary.database.AuthorityEntity;
 import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
-import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,9 +32,21 @@ public class CacheConfiguration {
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        ehcache = jHipsterProperties.getCache().getEhcache();
+        regions = new HashMap<>(applicationProperties.getCache().getRegions());
+        ApplicationProperties.Security.Authentication authentication = applicationProperties.getSecurity().getAuthentication();
+        regions.putIfAbsent(
+            VerifiedTokenCache.CACHE_NAME,
+            boundedRegion(authentication.getJwt().getCache().getMaxEntries(), authentication.getJwt().getCache().getTimeToLiveSeconds())
+        );
+        regions.putIfAbsent(
+            VerifiedCredentialCache.CACHE_NAME,
+            boundedRegion(authentication.getCredentialCache().getMaxEntries(), authentication.getCredentialCache().getTimeToLiveSeconds())
+        );
 
         jcacheConfiguration =
             Eh107Configuration.fromEhcacheCacheConfiguration(
@@ -43,11 +62,17 @@ public class CacheConfiguration {
         return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
     }
 
+    @Bean
+    public CacheMetrics cacheMetrics(javax.cache.CacheManager cacheManager) {
+        return new CacheMetrics(cacheManager);
+    }
+
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
-            createCache(cm, UserRepository.USERS_BY_LOGIN_CACHE);
-            createCache(cm, UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, UserPrincipalIndex.PRINCIPALS_CACHE);
+            createCache(cm, VerifiedTokenCache.CACHE_NAME);
+            createCache(cm, VerifiedCredentialCache.CACHE_NAME);
             createCache(cm, UserEntity.class.getName());
             createCache(cm, AuthorityEntity.class.getName());
             createCache(cm, UserEntity.class.getName() + ".authorities");
@@ -60,8 +85,61 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, jcacheConfiguration(cacheName));
+        }
+        cm.enableStatistics(cacheName, true);
+    }
+
+    private static ApplicationProperties.Cache.Region boundedRegion(long heapEntries, long timeToLiveSeconds) {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setHeapEntries(heapEntries);
+        region.setTimeToLiveSeconds(timeToLiveSeconds);
+        return region;
+    }
+
+    private javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Region region = regions.get(cacheName);
+        if (region == null) {
+            return jcacheConfiguration;
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(regionConfiguration(region));
+    }
+
+    /**
+     * Build the configuration of a cache listed in {@code application.cache.regions}, falling back to
+     * {@code jhipster.cache.ehcache} for the settings it does not define.
+     */
+    private org.ehcache.config.CacheConfiguration<Object, Object> regionConfiguration(ApplicationProperties.Cache.Region region) {
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.newResourcePoolsBuilder();
+        if (region.getHeapSize() != null) {
+            resourcePools = resourcePools.heap(region.getHeapSize().toBytes(), MemoryUnit.B);
+        } else {
+            long heapEntries = region.getHeapEntries() != null ? region.getHeapEntries() : ehcache.getMaxEntries();
+            resourcePools = resourcePools.heap(heapEntries, EntryUnit.ENTRIES);
+        }
+        if (region.getOffHeapSize() != null) {
+            resourcePools = resourcePools.offheap(region.getOffHeapSize().toBytes(), MemoryUnit.B);
+        }
+
+        Duration expiration = Duration.ofSeconds(
+            region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : ehcache.getTimeToLiveSeconds()
+        );
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+            .withExpiry(
+                region.getExpiry() == ApplicationProperties.Cache.Expiry.TIME_TO_IDLE
+                    ? ExpiryPolicyBuilder.timeToIdleExpiration(expiration)
+                    : ExpiryPolicyBuilder.timeToLiveExpiration(expiration)
+            );
+        if (region.getOffHeapSize() != null) {
+            // entries moved off-heap are serialized: cache keys and values are all Serializable
+            ClassLoader classLoader = CacheConfiguration.class.getClassLoader();
+            builder =
+                builder
+                    .withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                    .withValueSerializer(new PlainJavaSerializer<>(classLoader));
         }
+        return builder.build();
     }
 
     @Autowired(required = false)
@@ -0,0 +1,62 @@
+package io.github.jhipster.common.infrastructure.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import java.util.concurrent.TimeUnit;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.ehcache.core.statistics.TierStatistics;
+
+/**
+ * Binds the size and the average get and put latencies of every JCache cache to Micrometer.
+ * <p>
+ * Spring Boot already binds the hits, misses, puts, removals and evictions through {@link JCacheMetrics}; these extra
+ * meters carry the same tag keys, as Prometheus requires for the meters of a same cache.
+ */
+public class CacheMetrics implements MeterBinder {
+
+    private static final String CACHE_MANAGER_NAME = "cacheManager";
+
+    private final CacheManager cacheManager;
+
+    public CacheMetrics(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache<Object, Object> cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                continue;
+            }
+            Tags cacheTags = Tags.of("cache", cacheName, "cacheManager", CACHE_MANAGER_NAME, "name", cacheName);
+            TierStatistics authoritativeTier = CacheStatistics.authoritativeTier(cache);
+            Gauge
+                .builder("cache.size", cache, ignored -> authoritativeTier.getMappings())
+                .tags(cacheTags)
+                .description("The number of entries in this cache, read from its authoritative tier")
+                .register(registry);
+            CacheStatistics
+                .of(cache)
+                .ifPresent(
+                    statistics -> {
+                        TimeGauge
+                            .builder("cache.gets.latency", cache, TimeUnit.MICROSECONDS, ignored -> statistics.getAverageGetTime())
+                            .tags(cacheTags)
+                            .description("The average time of the cache gets")
+                            .register(registry);
+                        TimeGauge
+                            .builder("cache.puts.latency", cache, TimeUnit.MICROSECONDS, ignored -> statistics.getAveragePutTime())
+                            .tags(cacheTags)
+                            .description("The average time of the cache puts")
+                            .register(registry);
+                    }
+                );
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.jhipster.common.infrastructure.config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import javax.cache.Cache;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.ehcache.core.statistics.DefaultTierStatistics;
+import org.ehcache.core.statistics.StatsUtils;
+import org.ehcache.core.statistics.TierStatistics;
+
+/**
+ * Reads the statistics of the JCache caches created by {@link CacheConfiguration}, which enables them.
+ */
+public final class CacheStatistics {
+
+    private CacheStatistics() {}
+
+    /**
+     * Get the JCache statistics of a cache, as registered in JMX by Ehcache.
+     *
+     * @param cache the cache.
+     * @return the statistics, or empty if they are not enabled for this cache.
+     */
+    public static Optional<CacheStatisticsMXBean> of(Cache<?, ?> cache) {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(
+                "javax.cache:type=CacheStatistics" +
+                ",CacheManager=" +
+                sanitize(cache.getCacheManager().getURI().toString()) +
+                ",Cache=" +
+                sanitize(cache.getName())
+            );
+            if (!mBeanServer.isRegistered(objectName)) {
+                return Optional.empty();
+            }
+            return Optional.of(JMX.newMXBeanProxy(mBeanServer, objectName, CacheStatisticsMXBean.class));
+        } catch (MalformedObjectNameException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Get the statistics of the authoritative tier of a cache, the lowest one, which holds all its entries.
+     *
+     * @param cache the cache.
+     * @return the statistics of the authoritative tier.
+     */
+    public static TierStatistics authoritativeTier(Cache<?, ?> cache) {
+        org.ehcache.Cache<?, ?> ehcache = cache.unwrap(org.ehcache.Cache.class);
+        return new DefaultTierStatistics(ehcache, StatsUtils.findLowestTier(StatsUtils.findTiers(ehcache)));
+    }
+
+    /**
+     * Count the entries of a cache, from the mappings of its authoritative tier, without iterating over it.
+     *
+     * @param cache the cache.
+     * @return the number of entries.
+     */
+    public static long size(Cache<?, ?> cache) {
+        return authoritativeTier(cache).getMappings();
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[,:=\n]", ".");
+    }
+}
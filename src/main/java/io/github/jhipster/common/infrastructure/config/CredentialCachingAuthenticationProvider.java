@@ -0,0 +1,54 @@
+package io.github.jhipster.common.infrastructure.config;
+
+import io.github.jhipster.common.application.PasswordHashingRejectedException;
+import io.github.jhipster.user.application.VerifiedCredentialCache;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * {@link DaoAuthenticationProvider} skipping the password check for credentials found in the
+ * {@link VerifiedCredentialCache}.
+ * <p>
+ * A {@link PasswordHashingRejectedException} raised while checking the password of an unknown user is rethrown as is,
+ * instead of the {@link InternalAuthenticationServiceException} wrapping it, so that it is answered like the one raised
+ * for a known user.
+ */
+public class CredentialCachingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final VerifiedCredentialCache verifiedCredentialCache;
+
+    public CredentialCachingAuthenticationProvider(VerifiedCredentialCache verifiedCredentialCache) {
+        this.verifiedCredentialCache = verifiedCredentialCache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        try {
+            return super.authenticate(authentication);
+        } catch (InternalAuthenticationServiceException e) {
+            if (e.getCause() instanceof PasswordHashingRejectedException) {
+                throw (PasswordHashingRejectedException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails, UsernamePasswordAuthenticationToken authentication)
+        throws AuthenticationException {
+        if (!verifiedCredentialCache.isEnabled() || authentication.getCredentials() == null) {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+            return;
+        }
+        String password = authentication.getCredentials().toString();
+        if (verifiedCredentialCache.isVerified(userDetails.getUsername(), password, userDetails.getPassword())) {
+            return;
+        }
+        super.additionalAuthenticationChecks(userDetails, authentication);
+        verifiedCredentialCache.put(userDetails.getUsername(), password, userDetails.getPassword());
+    }
+}
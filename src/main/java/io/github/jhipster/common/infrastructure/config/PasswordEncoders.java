@@ -0,0 +1,60 @@
+package io.github.jhipster.common.infrastructure.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * Utility class building the password encoders.
+ */
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+
+    public static final String PBKDF2 = "pbkdf2";
+
+    public static final String ARGON2 = "argon2";
+
+    private PasswordEncoders() {}
+
+    /**
+     * Build an encoder prefixing hashes with the id of the configured encoder, e.g. {@code {bcrypt}$2a$10$...}.
+     * <p>
+     * Hashes without prefix, stored before the prefix was introduced, are matched as BCrypt hashes. Hashes which were not
+     * produced by the configured encoder with its current parameters are reported by
+     * {@link PasswordEncoder#upgradeEncoding(String)}, so they are re-hashed on the next successful login.
+     *
+     * @param passwordEncoding the password encoding properties.
+     * @return the delegating password encoder.
+     */
+    public static PasswordEncoder delegating(ApplicationProperties.Security.PasswordEncoding passwordEncoding) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(passwordEncoding.getBcrypt().getStrength());
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(
+            PBKDF2,
+            new Pbkdf2PasswordEncoder(
+                passwordEncoding.getPbkdf2().getSecret(),
+                passwordEncoding.getPbkdf2().getIterations(),
+                passwordEncoding.getPbkdf2().getHashWidth()
+            )
+        );
+        encoders.put(
+            ARGON2,
+            new Argon2PasswordEncoder(
+                passwordEncoding.getArgon2().getSaltLength(),
+                passwordEncoding.getArgon2().getHashLength(),
+                passwordEncoding.getArgon2().getParallelism(),
+                passwordEncoding.getArgon2().getMemory(),
+                passwordEncoding.getArgon2().getIterations()
+            )
+        );
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(passwordEncoding.getEncodingId(), encoders);
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegatingPasswordEncoder;
+    }
+}
@@ -1,22 +1,30 @@
 package io.github.jhipster.common.infrastructure.config;
 
 import io.github.jhipster.common.domain.AuthoritiesConstants;
+import io.github.jhipster.common.infrastructure.primary.PasswordHashingRejectionFilter;
 import io.github.jhipster.common.infrastructure.primary.jwt.*;
 import io.github.jhipster.common.infrastructure.primary.jwt.TokenProvider;
+import io.github.jhipster.user.application.VerifiedCredentialCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 import org.zalando.problem.spring.web.advice.security.SecurityProblemSupport;
 
 @EnableWebSecurity
@@ -26,18 +34,51 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     private final TokenProvider tokenProvider;
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
     private final CorsFilter corsFilter;
     private final SecurityProblemSupport problemSupport;
 
-    public SecurityConfiguration(TokenProvider tokenProvider, CorsFilter corsFilter, SecurityProblemSupport problemSupport) {
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    public SecurityConfiguration(
+        TokenProvider tokenProvider,
+        VerifiedTokenCache verifiedTokenCache,
+        CorsFilter corsFilter,
+        SecurityProblemSupport problemSupport,
+        @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver
+    ) {
         this.tokenProvider = tokenProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
         this.corsFilter = corsFilter;
         this.problemSupport = problemSupport;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Security.PasswordHashing passwordHashing = applicationProperties.getSecurity().getPasswordHashing();
+        return new BulkheadPasswordEncoder(
+            PasswordEncoders.delegating(applicationProperties.getSecurity().getPasswordEncoding()),
+            passwordHashing.getConcurrency(),
+            passwordHashing.getQueueCapacity(),
+            meterRegistry
+        );
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public DaoAuthenticationProvider authenticationProvider(
+        UserDetailsService userDetailsService,
+        UserDetailsPasswordService userDetailsPasswordService,
+        PasswordEncoder passwordEncoder,
+        VerifiedCredentialCache verifiedCredentialCache
+    ) {
+        DaoAuthenticationProvider authenticationProvider = new CredentialCachingAuthenticationProvider(verifiedCredentialCache);
+        authenticationProvider.setUserDetailsService(userDetailsService);
+        // re-hash the password on successful login when its hash uses outdated parameters
+        authenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        return authenticationProvider;
     }
 
     @Override
@@ -59,6 +100,8 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
             .csrf()
             .disable()
             .addFilterBefore(corsFilter, UsernamePasswordAuthenticationFilter.class)
+            // answers the password hashing rejections of HTTP Basic with a 503, as ExceptionTranslator does
+            .addFilterBefore(new PasswordHashingRejectionFilter(handlerExceptionResolver), BasicAuthenticationFilter.class)
             .exceptionHandling()
                 .authenticationEntryPoint(problemSupport)
                 .accessDeniedHandler(problemSupport)
@@ -96,6 +139,6 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
     }
 
     private JWTConfigurer securityConfigurerAdapter() {
-        return new JWTConfigurer(tokenProvider);
+        return new JWTConfigurer(tokenProvider, verifiedTokenCache);
     }
 }
@@ -0,0 +1,130 @@
+package io.github.jhipster.common.infrastructure.config.scheduling;
+
+import io.github.jhipster.common.application.LockProvider;
+import io.github.jhipster.common.application.SchedulerLock;
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guards the methods annotated with {@link SchedulerLock} with a lease from the {@link LockProvider}, and records the
+ * runs of each job.
+ * <p>
+ * The aspect is ordered just before the transaction advice, which keeps the default lowest precedence, so that the
+ * lease is taken and released outside of the job transaction. It must not take the highest precedence: it would then
+ * run before the interceptor exposing the invocation, which AspectJ needs to bind the annotation argument. Metrics: {@code scheduled.jobs.runs} by job and result, {@code scheduled.jobs.duration} by job and
+ * {@code scheduled.jobs.last.success}, the epoch second of the last successful run on this instance.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class SchedulerLockAspect {
+
+    private static final String METRIC_NAME = "scheduled.jobs";
+
+    private final Logger log = LoggerFactory.getLogger(SchedulerLockAspect.class);
+
+    private final LockProvider lockProvider;
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+
+    private final Clock clock;
+
+    private final Map<String, AtomicLong> lastSuccesses = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SchedulerLockAspect(LockProvider lockProvider, MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        this(lockProvider, meterRegistry, applicationProperties, Clock.systemUTC());
+    }
+
+    SchedulerLockAspect(LockProvider lockProvider, MeterRegistry meterRegistry, ApplicationProperties applicationProperties, Clock clock) {
+        this.lockProvider = lockProvider;
+        this.meterRegistry = meterRegistry;
+        this.enabled = applicationProperties.getScheduling().getLock().isEnabled();
+        this.clock = clock;
+    }
+
+    @Around("@annotation(schedulerLock)")
+    public Object lock(ProceedingJoinPoint joinPoint, SchedulerLock schedulerLock) throws Throwable {
+        String job = schedulerLock.name();
+        if (!enabled) {
+            return run(joinPoint, job);
+        }
+        Optional<LockProvider.Lease> lease = lockProvider.tryLock(job, Duration.ofSeconds(schedulerLock.leaseSeconds()));
+        if (lease.isEmpty()) {
+            log.debug("Skipping {}, locked by another instance", job);
+            runs(job, "skipped").increment();
+            return null;
+        }
+        boolean succeeded = false;
+        try {
+            Object result = run(joinPoint, job);
+            succeeded = true;
+            return result;
+        } finally {
+            unlock(job, lease.get(), Duration.ofSeconds(schedulerLock.minHoldSeconds()), succeeded);
+        }
+    }
+
+    private Object run(ProceedingJoinPoint joinPoint, String job) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            runs(job, "succeeded").increment();
+            lastSuccess(job).set(clock.instant().getEpochSecond());
+            return result;
+        } catch (Throwable e) {
+            runs(job, "failed").increment();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME + ".duration").tag("job", job).register(meterRegistry));
+        }
+    }
+
+    private void unlock(String job, LockProvider.Lease lease, Duration minHold, boolean succeeded) {
+        try {
+            lease.unlock(minHold, succeeded);
+        } catch (DataAccessException e) {
+            log.warn("Could not release the lock of {}, it will expire with its lease: {}", job, e.getMessage());
+        }
+    }
+
+    private Counter runs(String job, String result) {
+        return Counter.builder(METRIC_NAME + ".runs").tag("job", job).tag("result", result).register(meterRegistry);
+    }
+
+    private AtomicLong lastSuccess(String job) {
+        return lastSuccesses.computeIfAbsent(
+            job,
+            name -> {
+                AtomicLong lastSuccess = new AtomicLong();
+                Gauge
+                    .builder(METRIC_NAME + ".last.success", lastSuccess, AtomicLong::get)
+                    .tag("job", name)
+                    .strongReference(true)
+                    .register(meterRegistry);
+                return lastSuccess;
+            }
+        );
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.jhipster.common.infrastructure.primary;
+
+import java.io.Serializable;
+import javax.cache.management.CacheStatisticsMXBean;
+
+/**
+ * View Model of the statistics of a cache.
+ */
+public class CacheStatisticsVM implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+
+    private final long size;
+
+    private final long hits;
+
+    private final long misses;
+
+    private final float hitPercentage;
+
+    private final long puts;
+
+    private final long removals;
+
+    private final long evictions;
+
+    private final float averageGetTimeMicros;
+
+    private final float averagePutTimeMicros;
+
+    public CacheStatisticsVM(String name, long size, CacheStatisticsMXBean statistics) {
+        this.name = name;
+        this.size = size;
+        this.hits = statistics.getCacheHits();
+        this.misses = statistics.getCacheMisses();
+        this.hitPercentage = statistics.getCacheHitPercentage();
+        this.puts = statistics.getCachePuts();
+        this.removals = statistics.getCacheRemovals();
+        this.evictions = statistics.getCacheEvictions();
+        this.averageGetTimeMicros = statistics.getAverageGetTime();
+        this.averagePutTimeMicros = statistics.getAveragePutTime();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public float getHitPercentage() {
+        return hitPercentage;
+    }
+
+    public long getPuts() {
+        return puts;
+    }
+
+    public long getRemovals() {
+        return removals;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public float getAverageGetTimeMicros() {
+        return averageGetTimeMicros;
+    }
+
+    public float getAveragePutTimeMicros() {
+        return averagePutTimeMicros;
+    }
+}
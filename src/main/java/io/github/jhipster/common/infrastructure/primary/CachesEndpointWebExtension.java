@@ -0,0 +1,50 @@
+package io.github.jhipster.common.infrastructure.primary;
+
+import io.github.jhipster.common.infrastructure.config.CacheStatistics;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.cache.CachesEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.EndpointWebExtension;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replaces the listing of the {@code /management/caches} endpoint by the statistics of every cache.
+ * <p>
+ * The other operations of {@link CachesEndpoint} are kept: {@code DELETE /management/caches/{cache}} clears a single cache.
+ */
+@Component
+@ConditionalOnAvailableEndpoint(endpoint = CachesEndpoint.class)
+@EndpointWebExtension(endpoint = CachesEndpoint.class)
+public class CachesEndpointWebExtension {
+
+    private final CacheManager cacheManager;
+
+    public CachesEndpointWebExtension(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @ReadOperation
+    public List<CacheStatisticsVM> caches() {
+        return StreamSupport
+            .stream(cacheManager.getCacheNames().spliterator(), false)
+            .sorted()
+            .map(cacheManager::getCache)
+            .filter(Objects::nonNull)
+            .map(this::statistics)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    private CacheStatisticsVM statistics(Cache<Object, Object> cache) {
+        return CacheStatistics
+            .of(cache)
+            .map(statistics -> new CacheStatisticsVM(cache.getName(), CacheStatistics.size(cache), statistics))
+            .orElse(null);
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.jhipster.common.infrastructure.primary;
+
+import io.github.jhipster.common.application.PasswordHashingRejectedException;
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Answers a {@link PasswordHashingRejectedException} raised by the authentication filters, such as HTTP Basic, with the
+ * same 503 problem as the one the {@link ExceptionTranslator} returns for the MVC requests.
+ * <p>
+ * The exception is handed to the MVC exception resolver, like {@code SecurityProblemSupport} does for the security
+ * exceptions.
+ */
+public class PasswordHashingRejectionFilter extends OncePerRequestFilter {
+
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    public PasswordHashingRejectionFilter(HandlerExceptionResolver handlerExceptionResolver) {
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (PasswordHashingRejectedException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            handlerExceptionResolver.resolveException(request, response, null, e);
+        }
+    }
+}
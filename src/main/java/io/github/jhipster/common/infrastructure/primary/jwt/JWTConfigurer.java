@@ -9,13 +9,16 @@ public class JWTConfigurer extends SecurityConfigurerAdapter<DefaultSecurityFilt
 
     private final TokenProvider tokenProvider;
 
-    public JWTConfigurer(TokenProvider tokenProvider) {
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JWTConfigurer(TokenProvider tokenProvider, VerifiedTokenCache verifiedTokenCache) {
         this.tokenProvider = tokenProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     @Override
     public void configure(HttpSecurity http) {
-        JWTFilter customFilter = new JWTFilter(tokenProvider);
+        JWTFilter customFilter = new JWTFilter(tokenProvider, verifiedTokenCache);
         http.addFilterBefore(customFilter, UsernamePasswordAuthenticationFilter.class);
     }
 }
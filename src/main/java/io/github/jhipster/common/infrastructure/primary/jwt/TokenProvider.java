@@ -5,15 +5,15 @@ import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import tech.jhipster.config.JHipsterProperties;
@@ -25,6 +25,8 @@ public class TokenProvider {
 
     private static final String AUTHORITIES_KEY = "auth";
 
+    private static final int MAX_AUTHORITIES_COMBINATIONS = 256;
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -33,6 +35,8 @@ public class TokenProvider {
 
     private final long tokenValidityInMillisecondsForRememberMe;
 
+    private final Map<String, List<GrantedAuthority>> authoritiesByClaim = new ConcurrentHashMap<>();
+
     public TokenProvider(JHipsterProperties jHipsterProperties) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getSecret();
@@ -75,15 +79,33 @@ public class TokenProvider {
 
     public Authentication getAuthentication(String token) {
         Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        return toVerifiedToken(claims).toAuthentication(token);
+    }
 
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
+    /**
+     * Verify the token and build its {@link Authentication} from a single parse of the claims.
+     *
+     * @param token the JWT token.
+     * @return the authentication held by the token, or empty if the token is not valid.
+     */
+    public Optional<Authentication> getVerifiedAuthentication(String token) {
+        return verifyToken(token).map(verifiedToken -> verifiedToken.toAuthentication(token));
+    }
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    /**
+     * Verify the token and return its subject and authorities along with its expiration, from a single parse of the claims.
+     *
+     * @param token the JWT token.
+     * @return the verified token, or empty if the token is not valid.
+     */
+    public Optional<VerifiedToken> verifyToken(String token) {
+        try {
+            return Optional.of(toVerifiedToken(jwtParser.parseClaimsJws(token).getBody()));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.info("Invalid JWT token.");
+            log.trace("Invalid JWT token trace.", e);
+        }
+        return Optional.empty();
     }
 
     public boolean validateToken(String authToken) {
@@ -96,4 +118,28 @@ public class TokenProvider {
         }
         return false;
     }
+
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        Instant expiration = claims.getExpiration() == null ? Instant.MAX : claims.getExpiration().toInstant();
+        return new VerifiedToken(claims.getSubject(), getAuthorities(claims.get(AUTHORITIES_KEY).toString()), expiration);
+    }
+
+    /**
+     * A deployment only has a handful of role combinations: share one immutable list of authorities per combination
+     * instead of building it for each request.
+     */
+    private List<GrantedAuthority> getAuthorities(String authoritiesClaim) {
+        List<GrantedAuthority> authorities = authoritiesByClaim.get(authoritiesClaim);
+        if (authorities != null) {
+            return authorities;
+        }
+        authorities =
+            Collections.unmodifiableList(
+                Arrays.stream(authoritiesClaim.split(",")).map(SimpleGrantedAuthority::new).collect(Collectors.toList())
+            );
+        if (authoritiesByClaim.size() < MAX_AUTHORITIES_COMBINATIONS) {
+            authoritiesByClaim.putIfAbsent(authoritiesClaim, authorities);
+        }
+        return authorities;
+    }
 }
@@ -0,0 +1,50 @@
+package io.github.jhipster.common.infrastructure.primary.jwt;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * A JWT token whose signature and expiration have been verified, with the immutable parts of the {@link Authentication}
+ * it holds: its subject and its shared list of authorities.
+ * <p>
+ * The {@link Authentication}, which is mutable, is built for each request by {@link #toAuthentication(String)}, so that a
+ * cached token never shares it between requests.
+ */
+public final class VerifiedToken {
+
+    private final String subject;
+
+    private final List<GrantedAuthority> authorities;
+
+    private final Instant expiration;
+
+    public VerifiedToken(String subject, List<GrantedAuthority> authorities, Instant expiration) {
+        this.subject = subject;
+        this.authorities = authorities;
+        this.expiration = expiration;
+    }
+
+    /**
+     * @param token the raw JWT token, kept as the credentials of the authentication.
+     * @return a new authentication for the token.
+     */
+    public Authentication toAuthentication(String token) {
+        return new UsernamePasswordAuthenticationToken(new User(subject, "", authorities), token, authorities);
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public Instant getExpiration() {
+        return expiration;
+    }
+}
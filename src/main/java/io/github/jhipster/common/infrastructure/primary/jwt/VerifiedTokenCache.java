@@ -0,0 +1,100 @@
+package io.github.jhipster.common.infrastructure.primary.jwt;
+
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.function.Function;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of verified JWT tokens, so that a token sent many times only has its signature checked once.
+ * <p>
+ * Entries are kept in the {@value #CACHE_NAME} JCache cache, sized by {@code application.security.authentication.jwt.cache},
+ * keyed by a SHA-256 digest of the raw token, and never served after the token expiration.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    public static final String CACHE_NAME = "verifiedTokens";
+
+    private final boolean enabled;
+
+    private final long timeToLiveSeconds;
+
+    private final Cache<String, VerifiedToken> tokens;
+
+    private final Clock clock;
+
+    @Autowired
+    public VerifiedTokenCache(ApplicationProperties applicationProperties, CacheManager cacheManager) {
+        this(applicationProperties, cacheManager, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(ApplicationProperties applicationProperties, CacheManager cacheManager, Clock clock) {
+        ApplicationProperties.Security.Authentication.Jwt.Cache cache = applicationProperties
+            .getSecurity()
+            .getAuthentication()
+            .getJwt()
+            .getCache();
+        this.enabled = cache.isEnabled();
+        this.timeToLiveSeconds = cache.getTimeToLiveSeconds();
+        this.tokens = cacheManager.getCache(CACHE_NAME);
+        this.clock = clock;
+    }
+
+    /**
+     * Get the verified token from the cache, or verify it with the given verifier and cache the result.
+     *
+     * @param token the raw JWT token.
+     * @param verifier the function verifying a token not found in the cache.
+     * @return the verified token, or empty if the token is not valid.
+     */
+    public Optional<VerifiedToken> get(String token, Function<String, Optional<VerifiedToken>> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+        String key = digest(token);
+        Instant now = clock.instant();
+        VerifiedToken cached = tokens.get(key);
+        if (cached != null) {
+            if (now.isBefore(cached.getExpiration())) {
+                return Optional.of(cached);
+            }
+            tokens.remove(key, cached);
+        }
+        Optional<VerifiedToken> verified = verifier.apply(token);
+        verified.ifPresent(verifiedToken -> put(key, verifiedToken, now));
+        return verified;
+    }
+
+    public void clear() {
+        tokens.clear();
+    }
+
+    private void put(String key, VerifiedToken verifiedToken, Instant now) {
+        Instant expiration = now.plusSeconds(timeToLiveSeconds);
+        if (verifiedToken.getExpiration().isBefore(expiration)) {
+            expiration = verifiedToken.getExpiration();
+        }
+        if (now.isBefore(expiration)) {
+            tokens.put(key, new VerifiedToken(verifiedToken.getSubject(), verifiedToken.getAuthorities(), expiration));
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
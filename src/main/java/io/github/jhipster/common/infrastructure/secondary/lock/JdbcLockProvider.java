@@ -0,0 +1,119 @@
+package io.github.jhipster.common.infrastructure.secondary.lock;
+
+import io.github.jhipster.common.application.LockProvider;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Lock provider backed by the {@code jhi_scheduled_lock} table, one row per lock name.
+ * <p>
+ * A lease is taken by a conditional update on an expired row, or by inserting the row the first time, so that exactly
+ * one instance wins. Each statement runs in its own transaction, independently of the caller one. The row also keeps
+ * the last-run state of the lock: owner, finish time and status.
+ */
+@Component
+public class JdbcLockProvider implements LockProvider {
+
+    private static final String UPDATE_EXPIRED =
+        "update jhi_scheduled_lock set locked_by = ?, locked_at = ?, locked_until = ? where name = ? and locked_until <= ?";
+
+    private static final String INSERT = "insert into jhi_scheduled_lock (name, locked_by, locked_at, locked_until) values (?, ?, ?, ?)";
+
+    private static final String UNLOCK =
+        "update jhi_scheduled_lock set locked_until = ?, last_finished_at = ?, last_status = ? " +
+        "where name = ? and locked_by = ? and locked_at = ?";
+
+    private final Logger log = LoggerFactory.getLogger(JdbcLockProvider.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Clock clock;
+
+    private final String owner;
+
+    @Autowired
+    public JdbcLockProvider(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this(jdbcTemplate, transactionManager, Clock.systemUTC());
+    }
+
+    JdbcLockProvider(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+        this.owner = hostName() + "/" + UUID.randomUUID();
+    }
+
+    @Override
+    public Optional<Lease> tryLock(String name, Duration leaseTime) {
+        Timestamp now = Timestamp.from(clock.instant().truncatedTo(ChronoUnit.MILLIS));
+        Timestamp until = Timestamp.from(now.toInstant().plus(leaseTime));
+        if (execute(UPDATE_EXPIRED, owner, now, until, name, now) == 1 || insert(name, now, until)) {
+            log.debug("Locked {} until {}", name, until);
+            return Optional.of(new JdbcLease(name, now));
+        }
+        return Optional.empty();
+    }
+
+    private boolean insert(String name, Timestamp now, Timestamp until) {
+        try {
+            return execute(INSERT, name, owner, now, until) == 1;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private int execute(String sql, Object... arguments) {
+        Integer updated = transactionTemplate.execute(status -> jdbcTemplate.update(sql, arguments));
+        return updated == null ? 0 : updated;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+
+    private class JdbcLease implements Lease {
+
+        private final String name;
+
+        private final Timestamp lockedAt;
+
+        private JdbcLease(String name, Timestamp lockedAt) {
+            this.name = name;
+            this.lockedAt = lockedAt;
+        }
+
+        @Override
+        public void unlock(Duration minHold, boolean succeeded) {
+            Instant now = clock.instant();
+            Instant minUntil = lockedAt.toInstant().plus(minHold);
+            Timestamp until = Timestamp.from(now.isAfter(minUntil) ? now : minUntil);
+            String status = succeeded ? "SUCCEEDED" : "FAILED";
+            if (execute(UNLOCK, until, Timestamp.from(now), status, name, owner, lockedAt) == 0) {
+                log.warn("The lease on {} expired before the end of the run", name);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.jhipster.user.application;
+
+import io.github.jhipster.user.infrastructure.secondary.database.AuthorityEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.AuthorityRepository;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory copy of the {@code jhi_authority} table, so that roles are resolved without querying the database.
+ * <p>
+ * Authorities are loaded at startup (or on first use) into an immutable map which is replaced as a whole by
+ * {@link #reload()}: call it after changing the table. The same {@link AuthorityEntity} instance is returned for a given
+ * name until the next reload, and must not be modified.
+ */
+@Component
+public class AuthorityRegistry {
+
+    private final Logger log = LoggerFactory.getLogger(AuthorityRegistry.class);
+
+    private final AuthorityRepository authorityRepository;
+
+    private volatile Map<String, AuthorityEntity> authorities;
+
+    public AuthorityRegistry(AuthorityRepository authorityRepository) {
+        this.authorityRepository = authorityRepository;
+    }
+
+    /**
+     * Find an authority by name.
+     *
+     * @param name the authority name.
+     * @return the authority, or empty if it does not exist.
+     */
+    public Optional<AuthorityEntity> find(String name) {
+        return Optional.ofNullable(authorities().get(name));
+    }
+
+    /**
+     * @return the names of all the authorities, sorted.
+     */
+    public List<String> names() {
+        return List.copyOf(authorities().keySet());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        Map<String, AuthorityEntity> loaded = new LinkedHashMap<>();
+        authorityRepository.findAll(Sort.by("name")).forEach(authority -> loaded.put(authority.getName(), authority));
+        authorities = Collections.unmodifiableMap(loaded);
+        log.debug("Loaded {} authorities", loaded.size());
+    }
+
+    private Map<String, AuthorityEntity> authorities() {
+        Map<String, AuthorityEntity> current = authorities;
+        if (current == null) {
+            synchronized (this) {
+                if (authorities == null) {
+                    reload();
+                }
+                current = authorities;
+            }
+        }
+        return current;
+    }
+}
@@ -1,11 +1,8 @@
 package io.github.jhipster.user.application;
 
 import io.github.jhipster.user.application.error.UserNotActivatedException;
-import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
-import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
 import java.util.*;
 import java.util.stream.Collectors;
-import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.GrantedAuthority;
@@ -24,10 +21,13 @@ public class DomainUserDetailsService implements UserDetailsService {
 
     private final Logger log = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
-    private final UserRepository userRepository;
+    private final UserPrincipalIndex userPrincipalIndex;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    private final KnownPrincipalsFilter knownPrincipalsFilter;
+
+    public DomainUserDetailsService(UserPrincipalIndex userPrincipalIndex, KnownPrincipalsFilter knownPrincipalsFilter) {
+        this.userPrincipalIndex = userPrincipalIndex;
+        this.knownPrincipalsFilter = knownPrincipalsFilter;
     }
 
     @Override
@@ -35,29 +35,25 @@ public class DomainUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(final String login) {
         log.debug("Authenticating {}", login);
 
-        if (new EmailValidator().isValid(login, null)) {
-            return userRepository
-                .findOneWithAuthoritiesByEmailIgnoreCase(login)
-                .map(user -> createSpringSecurityUser(login, user))
-                .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
+        if (!knownPrincipalsFilter.mightExist(login)) {
+            throw new UsernameNotFoundException("User " + login + " was not found in the database");
         }
 
-        String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
-        return userRepository
-            .findOneWithAuthoritiesByLogin(lowercaseLogin)
-            .map(user -> createSpringSecurityUser(lowercaseLogin, user))
-            .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
+        return userPrincipalIndex
+            .find(login)
+            .map(principal -> createSpringSecurityUser(login, principal))
+            .orElseThrow(() -> new UsernameNotFoundException("User " + login + " was not found in the database"));
     }
 
-    private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, UserEntity userEntity) {
-        if (!userEntity.isActivated()) {
-            throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
+    private org.springframework.security.core.userdetails.User createSpringSecurityUser(String login, UserPrincipal principal) {
+        if (!principal.isActivated()) {
+            throw new UserNotActivatedException("User " + login + " was not activated");
         }
-        List<GrantedAuthority> grantedAuthorities = userEntity
+        List<GrantedAuthority> grantedAuthorities = principal
             .getAuthorities()
             .stream()
-            .map(authority -> new SimpleGrantedAuthority(authority.getName()))
+            .map(SimpleGrantedAuthority::new)
             .collect(Collectors.toList());
-        return new org.springframework.security.core.userdetails.User(userEntity.getLogin(), userEntity.getPassword(), grantedAuthorities);
+        return new org.springframework.security.core.userdetails.User(principal.getLogin(), principal.getPassword(), grantedAuthorities);
     }
 }
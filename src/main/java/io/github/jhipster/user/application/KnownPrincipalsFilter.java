@@ -0,0 +1,127 @@
+package io.github.jhipster.user.application;
+
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * In-memory Bloom filter of the existing logins and emails, so that authentication attempts with unknown logins are
+ * rejected without querying the database.
+ * <p>
+ * It is rebuilt from the database at startup and every {@code application.security.known-principals.refresh-interval-ms},
+ * and updated by {@link UserApplicationService} once the transactions creating or renaming users are committed. The
+ * additions made while a rebuild reads the database are replayed into the rebuilt filter, which may have read the
+ * database before their commit. Users inserted by other means are only known after the next rebuild.
+ */
+@Component
+public class KnownPrincipalsFilter {
+
+    private static final String METRIC_NAME = "security.known.principals";
+
+    private final Logger log = LoggerFactory.getLogger(KnownPrincipalsFilter.class);
+
+    private final UserRepository userRepository;
+
+    private final ApplicationProperties.Security.KnownPrincipals knownPrincipals;
+
+    private final Counter shortCircuited;
+
+    private final Counter passed;
+
+    private final Object lock = new Object();
+
+    private volatile BloomFilter bloomFilter;
+
+    /**
+     * The additions made since the start of the current rebuild, null when no rebuild is running. Guarded by the lock.
+     */
+    private List<String> additionsDuringRebuild;
+
+    public KnownPrincipalsFilter(UserRepository userRepository, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.knownPrincipals = applicationProperties.getSecurity().getKnownPrincipals();
+        this.shortCircuited = Counter.builder(METRIC_NAME).tag("result", "rejected").register(meterRegistry);
+        this.passed = Counter.builder(METRIC_NAME).tag("result", "passed").register(meterRegistry);
+    }
+
+    /**
+     * Check whether a login or email may belong to an existing user.
+     *
+     * @param loginOrEmail the login or email.
+     * @return false only if no user has this login or email.
+     */
+    public boolean mightExist(String loginOrEmail) {
+        BloomFilter current = bloomFilter;
+        if (current == null || current.mightContain(normalize(loginOrEmail))) {
+            passed.increment();
+            return true;
+        }
+        shortCircuited.increment();
+        return false;
+    }
+
+    public void add(String loginOrEmail) {
+        if (loginOrEmail == null) {
+            return;
+        }
+        String normalized = normalize(loginOrEmail);
+        synchronized (lock) {
+            BloomFilter current = bloomFilter;
+            if (current != null) {
+                current.put(normalized);
+            }
+            if (additionsDuringRebuild != null) {
+                additionsDuringRebuild.add(normalized);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${application.security.known-principals.refresh-interval-ms:3600000}",
+        fixedDelayString = "${application.security.known-principals.refresh-interval-ms:3600000}"
+    )
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!knownPrincipals.isEnabled()) {
+            return;
+        }
+        log.debug("Rebuilding the known principals filter");
+        BloomFilter rebuilt = new BloomFilter(knownPrincipals.getExpectedPrincipals(), knownPrincipals.getFalsePositiveProbability());
+        synchronized (lock) {
+            additionsDuringRebuild = new ArrayList<>();
+        }
+        try {
+            try (Stream<String> logins = userRepository.streamAllLogins()) {
+                logins.map(KnownPrincipalsFilter::normalize).forEach(rebuilt::put);
+            }
+            try (Stream<String> emails = userRepository.streamAllEmails()) {
+                emails.map(KnownPrincipalsFilter::normalize).forEach(rebuilt::put);
+            }
+            synchronized (lock) {
+                additionsDuringRebuild.forEach(rebuilt::put);
+                bloomFilter = rebuilt;
+            }
+        } finally {
+            synchronized (lock) {
+                additionsDuringRebuild = null;
+            }
+        }
+    }
+
+    private static String normalize(String loginOrEmail) {
+        return loginOrEmail.toLowerCase(Locale.ENGLISH);
+    }
+}
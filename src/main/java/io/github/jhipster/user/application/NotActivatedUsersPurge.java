@@ -0,0 +1,101 @@
+package io.github.jhipster.user.application;
+
+import io.github.jhipster.user.infrastructure.secondary.database.UserIdentity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes the users who did not activate their account within 3 days.
+ * <p>
+ * Users are deleted {@value #BATCH_SIZE} at a time, one transaction per batch, with two set-based deletes (authorities,
+ * then users) and a single cache eviction per batch, so that a large backlog neither holds locks for long nor loads
+ * every user in memory. When called within a transaction, the batches join it, so callers that want the batches to
+ * commit separately must not hold one.
+ */
+@Component
+public class NotActivatedUsersPurge {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String METRIC_NAME = "users.purge";
+
+    private final Logger log = LoggerFactory.getLogger(NotActivatedUsersPurge.class);
+
+    private final UserRepository userRepository;
+
+    private final UserCaches userCaches;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter deleted;
+
+    private final Timer duration;
+
+    private final Timer batchDuration;
+
+    public NotActivatedUsersPurge(
+        UserRepository userRepository,
+        UserCaches userCaches,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.userCaches = userCaches;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deleted = Counter.builder(METRIC_NAME + ".deleted").register(meterRegistry);
+        this.duration = Timer.builder(METRIC_NAME + ".duration").register(meterRegistry);
+        this.batchDuration = Timer.builder(METRIC_NAME + ".batch.duration").register(meterRegistry);
+    }
+
+    /**
+     * Delete the users who are not activated and were created more than 3 days ago.
+     *
+     * @return the number of deleted users.
+     */
+    public int purge() {
+        Instant createdBefore = Instant.now().minus(3, ChronoUnit.DAYS);
+        return duration.record(
+            () -> {
+                int total = 0;
+                int batch;
+                do {
+                    batch = batchDuration.record(() -> transactionTemplate.execute(status -> deleteBatch(createdBefore)));
+                    total += batch;
+                } while (batch == BATCH_SIZE);
+                log.info("Deleted {} not activated users", total);
+                return total;
+            }
+        );
+    }
+
+    private int deleteBatch(Instant createdBefore) {
+        List<UserIdentity> users = userRepository.findAllNotActivatedCreatedBefore(createdBefore, PageRequest.of(0, BATCH_SIZE));
+        if (users.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = users.stream().map(UserIdentity::getId).collect(Collectors.toList());
+        userRepository.deleteNotActivatedAuthoritiesByUserIdIn(ids);
+        userRepository.deleteNotActivatedByIdIn(ids);
+        userCaches.evictAll(
+            users
+                .stream()
+                .map(user -> new UserCacheInvalidation(user.getId(), user.getLogin(), user.getEmail()))
+                .collect(Collectors.toList())
+        );
+        deleted.increment(users.size());
+        log.debug("Deleted a batch of {} not activated users", users.size());
+        return users.size();
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.jhipster.user.application;
+
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Saves the logins of the most recently loaded principals on graceful shutdown, and loads them back into the
+ * {@link UserPrincipalIndex} at startup, so that a restarted instance does not send the whole login storm to the database.
+ * <p>
+ * Only logins are written to the snapshot: the principals themselves, password hashes included, are read again from
+ * the database. The instance reports itself as warm once the snapshot has been loaded, or straight away when the
+ * warm-up is disabled or there is no snapshot.
+ */
+@Component
+public class PrincipalsWarmUp {
+
+    private final Logger log = LoggerFactory.getLogger(PrincipalsWarmUp.class);
+
+    private final UserPrincipalIndex userPrincipalIndex;
+
+    private final ApplicationProperties.Cache.Principals.WarmUp warmUp;
+
+    private final Executor executor;
+
+    private final AtomicInteger loaded = new AtomicInteger();
+
+    private volatile boolean warm;
+
+    public PrincipalsWarmUp(
+        UserPrincipalIndex userPrincipalIndex,
+        ApplicationProperties applicationProperties,
+        @Qualifier("taskExecutor") Executor executor
+    ) {
+        this.userPrincipalIndex = userPrincipalIndex;
+        this.warmUp = applicationProperties.getCache().getPrincipals().getWarmUp();
+        this.executor = executor;
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public int getLoaded() {
+        return loaded.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!warmUp.isEnabled()) {
+            warm = true;
+            return;
+        }
+        executor.execute(this::restore);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void snapshot() {
+        if (!warmUp.isEnabled()) {
+            return;
+        }
+        Path file = Paths.get(warmUp.getFile());
+        try {
+            List<String> logins = userPrincipalIndex.hotLogins(warmUp.getMaxEntries());
+            Path absolute = file.toAbsolutePath();
+            Files.createDirectories(absolute.getParent());
+            Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+            Files.write(temporary, logins, StandardCharsets.UTF_8);
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved {} principal logins to {}", logins.size(), file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not save the principal logins to {}: {}", file, e.getMessage());
+        }
+    }
+
+    void restore() {
+        Path file = Paths.get(warmUp.getFile());
+        try {
+            if (!Files.isReadable(file)) {
+                log.debug("No principal logins to load from {}", file);
+                return;
+            }
+            List<String> logins;
+            try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+                logins =
+                    lines
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty())
+                        .distinct()
+                        .limit(warmUp.getMaxEntries())
+                        .collect(Collectors.toList());
+            }
+            loaded.set(userPrincipalIndex.warm(logins));
+            log.info("Loaded {} of {} principals from {}", loaded.get(), logins.size(), file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load the principal logins from {}: {}", file, e.getMessage());
+        } finally {
+            warm = true;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.jhipster.user.application;
 
+import io.github.jhipster.common.application.SchedulerLock;
 import io.github.jhipster.common.application.SecurityUtils;
 import io.github.jhipster.common.domain.AuthoritiesConstants;
 import io.github.jhipster.common.domain.Constants;
@@ -8,22 +9,39 @@ import io.github.jhipster.user.domain.EmailAlreadyUsedException;
 import io.github.jhipster.user.domain.InvalidPasswordException;
 import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
 import io.github.jhipster.user.infrastructure.secondary.database.AuthorityEntity;
-import io.github.jhipster.user.infrastructure.secondary.database.AuthorityRepository;
 import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserKeyHash;
 import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import io.github.jhipster.user.infrastructure.secondary.smtp.MailService;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -31,7 +49,16 @@ import tech.jhipster.security.RandomUtil;
  */
 @Service
 @Transactional
-public class UserApplicationService {
+public class UserApplicationService implements UserDetailsPasswordService {
+
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
+    private static final String LOGIN_CONSTRAINT = "ux_user_login";
+
+    private static final String EMAIL_CONSTRAINT = "ux_user_email";
+
+    // H2 names the index backing the constraint, e.g. UX_USER_LOGIN_INDEX_3
+    private static final Pattern INDEX_SUFFIX = Pattern.compile("_INDEX_\\w+$", Pattern.CASE_INSENSITIVE);
 
     private final Logger log = LoggerFactory.getLogger(UserApplicationService.class);
 
@@ -39,26 +66,52 @@ public class UserApplicationService {
 
     private final PasswordEncoder passwordEncoder;
 
-    private final AuthorityRepository authorityRepository;
+    private final AuthorityRegistry authorityRegistry;
+
+    private final UserPrincipalIndex userPrincipalIndex;
+
+    private final UserCaches userCaches;
 
-    private final CacheManager cacheManager;
+    private final KnownPrincipalsFilter knownPrincipalsFilter;
+
+    private final EntityManager entityManager;
+
+    private final NotActivatedUsersPurge notActivatedUsersPurge;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MailService mailService;
 
     public UserApplicationService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
-        AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        AuthorityRegistry authorityRegistry,
+        UserPrincipalIndex userPrincipalIndex,
+        UserCaches userCaches,
+        KnownPrincipalsFilter knownPrincipalsFilter,
+        EntityManager entityManager,
+        NotActivatedUsersPurge notActivatedUsersPurge,
+        PlatformTransactionManager transactionManager,
+        MailService mailService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.authorityRepository = authorityRepository;
-        this.cacheManager = cacheManager;
+        this.authorityRegistry = authorityRegistry;
+        this.userPrincipalIndex = userPrincipalIndex;
+        this.userCaches = userCaches;
+        this.knownPrincipalsFilter = knownPrincipalsFilter;
+        this.entityManager = entityManager;
+        this.notActivatedUsersPurge = notActivatedUsersPurge;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mailService = mailService;
     }
 
     public Optional<UserEntity> activateRegistration(String key) {
         log.debug("Activating user for activation key {}", key);
-        return userRepository
-            .findOneByActivationKey(key)
+        return Optional
+            .ofNullable(key)
+            .map(UserKeyHash::of)
+            .flatMap(userRepository::findOneByActivationKeyHash)
             .map(
                 user -> {
                     // activate given user for the registration key.
@@ -73,9 +126,11 @@ public class UserApplicationService {
 
     public Optional<UserEntity> completePasswordReset(String newPassword, String key) {
         log.debug("Reset user password for reset key {}", key);
-        return userRepository
-            .findOneByResetKey(key)
-            .filter(user -> user.getResetDate().isAfter(Instant.now().minusSeconds(86400)))
+        Instant validSince = Instant.now().minusSeconds(86400);
+        return Optional
+            .ofNullable(key)
+            .map(UserKeyHash::of)
+            .flatMap(keyHash -> userRepository.findOneByResetKeyHashAndResetDateAfter(keyHash, validSince))
             .map(
                 user -> {
                     user.setPassword(passwordEncoder.encode(newPassword));
@@ -96,42 +151,47 @@ public class UserApplicationService {
                     user.setResetKey(RandomUtil.generateResetKey());
                     user.setResetDate(Instant.now());
                     this.clearUserCaches(user);
+                    mailService.sendPasswordResetMail(user);
                     return user;
                 }
             );
     }
 
+    /**
+     * Register a new user, replacing the not activated users holding the same login or email.
+     * <p>
+     * The password is hashed before the transaction starts and the conflicting users are found with a single query.
+     * Concurrent registrations of the same login or email are caught by the {@code ux_user_login} and
+     * {@code ux_user_email} constraints.
+     *
+     * @param userDTO the user to register.
+     * @param password the clear text password.
+     * @return the registered user.
+     * @throws UsernameAlreadyUsedException if an activated user has the same login.
+     * @throws EmailAlreadyUsedException if an activated user has the same email.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserEntity registerUser(UserDTO userDTO, String password) {
-        userRepository
-            .findOneByLogin(userDTO.getLogin().toLowerCase())
-            .ifPresent(
-                existingUser -> {
-                    boolean removed = removeNonActivatedUser(existingUser);
-                    if (!removed) {
-                        throw new UsernameAlreadyUsedException();
-                    }
-                }
-            );
-        userRepository
-            .findOneByEmailIgnoreCase(userDTO.getEmail())
-            .ifPresent(
-                existingUser -> {
-                    boolean removed = removeNonActivatedUser(existingUser);
-                    if (!removed) {
-                        throw new EmailAlreadyUsedException();
-                    }
-                }
-            );
-        UserEntity newUserEntity = new UserEntity();
         String encryptedPassword = passwordEncoder.encode(password);
-        newUserEntity.setLogin(userDTO.getLogin().toLowerCase());
+        try {
+            return transactionTemplate.execute(status -> insertRegisteredUser(userDTO, encryptedPassword));
+        } catch (DataIntegrityViolationException e) {
+            throw alreadyUsed(e);
+        }
+    }
+
+    private UserEntity insertRegisteredUser(UserDTO userDTO, String encryptedPassword) {
+        String login = userDTO.getLogin().toLowerCase();
+        String email = userDTO.getEmail() == null ? null : userDTO.getEmail().toLowerCase();
+        List<UserEntity> existingUsers = userRepository.findAllByLoginOrEmail(login, email);
+        removeNonActivatedUsers(login, existingUsers);
+        UserEntity newUserEntity = new UserEntity();
+        newUserEntity.setLogin(login);
         // new user gets initially a generated password
         newUserEntity.setPassword(encryptedPassword);
         newUserEntity.setFirstName(userDTO.getFirstName());
         newUserEntity.setLastName(userDTO.getLastName());
-        if (userDTO.getEmail() != null) {
-            newUserEntity.setEmail(userDTO.getEmail().toLowerCase());
-        }
+        newUserEntity.setEmail(email);
         newUserEntity.setImageUrl(userDTO.getImageUrl());
         newUserEntity.setLangKey(userDTO.getLangKey());
         // new user is not active
@@ -139,22 +199,60 @@ public class UserApplicationService {
         // new user gets registration key
         newUserEntity.setActivationKey(RandomUtil.generateActivationKey());
         Set<AuthorityEntity> authorities = new HashSet<>();
-        authorityRepository.findById(AuthoritiesConstants.USER).ifPresent(authorities::add);
+        authorityRegistry.find(AuthoritiesConstants.USER).ifPresent(authorities::add);
         newUserEntity.setAuthorities(authorities);
-        userRepository.save(newUserEntity);
+        userRepository.saveAndFlush(newUserEntity);
         this.clearUserCaches(newUserEntity);
+        this.addKnownPrincipals(newUserEntity);
+        mailService.sendActivationEmail(newUserEntity);
         log.debug("Created Information for User: {}", newUserEntity);
         return newUserEntity;
     }
 
-    private boolean removeNonActivatedUser(UserEntity existingUserEntity) {
-        if (existingUserEntity.isActivated()) {
-            return false;
+    private void removeNonActivatedUsers(String login, List<UserEntity> existingUsers) {
+        if (existingUsers.stream().anyMatch(user -> user.isActivated() && login.equals(user.getLogin()))) {
+            throw new UsernameAlreadyUsedException();
+        }
+        if (existingUsers.stream().anyMatch(UserEntity::isActivated)) {
+            throw new EmailAlreadyUsedException();
         }
-        userRepository.delete(existingUserEntity);
+        if (existingUsers.isEmpty()) {
+            return;
+        }
+        userRepository.deleteAll(existingUsers);
         userRepository.flush();
-        this.clearUserCaches(existingUserEntity);
-        return true;
+        existingUsers.forEach(this::clearUserCaches);
+    }
+
+    /**
+     * Map the violation of the unique login or email constraint by a concurrent registration.
+     */
+    static RuntimeException alreadyUsed(DataIntegrityViolationException e) {
+        String constraint = violatedConstraint(e);
+        if (LOGIN_CONSTRAINT.equalsIgnoreCase(constraint)) {
+            return new UsernameAlreadyUsedException();
+        }
+        if (EMAIL_CONSTRAINT.equalsIgnoreCase(constraint)) {
+            return new EmailAlreadyUsedException();
+        }
+        return e;
+    }
+
+    /**
+     * @return the name of the constraint reported by Hibernate, without its schema or quotes, or null if unknown.
+     */
+    private static String violatedConstraint(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException && ((ConstraintViolationException) cause).getConstraintName() != null) {
+                // H2 reports the rest of its message, e.g. "PUBLIC.UX_USER_LOGIN_INDEX_3 ON PUBLIC.JHI_USER(LOGIN) VALUES 1"
+                String name = ((ConstraintViolationException) cause).getConstraintName().replace("\"", "").trim();
+                int end = name.indexOf(' ');
+                name = end < 0 ? name : name.substring(0, end);
+                name = name.substring(name.lastIndexOf('.') + 1);
+                return INDEX_SUFFIX.matcher(name).replaceFirst("");
+            }
+        }
+        return null;
     }
 
     public UserEntity createUser(UserDTO userDTO) {
@@ -180,7 +278,7 @@ public class UserApplicationService {
             Set<AuthorityEntity> authorities = userDTO
                 .getAuthorities()
                 .stream()
-                .map(authorityRepository::findById)
+                .map(authorityRegistry::find)
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .collect(Collectors.toSet());
@@ -188,6 +286,8 @@ public class UserApplicationService {
         }
         userRepository.save(userEntity);
         this.clearUserCaches(userEntity);
+        this.addKnownPrincipals(userEntity);
+        mailService.sendCreationEmail(userEntity);
         log.debug("Created Information for User: {}", userEntity);
         return userEntity;
     }
@@ -220,11 +320,12 @@ public class UserApplicationService {
                     userDTO
                         .getAuthorities()
                         .stream()
-                        .map(authorityRepository::findById)
+                        .map(authorityRegistry::find)
                         .filter(Optional::isPresent)
                         .map(Optional::get)
                         .forEach(managedAuthorities::add);
                     this.clearUserCaches(user);
+                    this.addKnownPrincipals(user);
                     log.debug("Changed Information for User: {}", user);
                     return user;
                 }
@@ -267,6 +368,7 @@ public class UserApplicationService {
                     user.setLangKey(langKey);
                     user.setImageUrl(imageUrl);
                     this.clearUserCaches(user);
+                    this.addKnownPrincipals(user);
                     log.debug("Changed Information for User: {}", user);
                 }
             );
@@ -291,9 +393,84 @@ public class UserApplicationService {
             );
     }
 
+    /**
+     * Store the new hash of the password of a user who just logged in with a password hashed with outdated parameters.
+     *
+     * @param userDetails the authenticated user.
+     * @param newPassword the password hashed with the current parameters.
+     * @return the user with its new password hash.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository
+            .findOneByLogin(userDetails.getUsername())
+            .ifPresent(
+                user -> {
+                    user.setPassword(newPassword);
+                    this.clearUserCaches(user);
+                    log.debug("Upgraded password hash for User: {}", user);
+                }
+            );
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails).password(newPassword).build();
+    }
+
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllManagedUsers(Pageable pageable) {
-        return userRepository.findAllByLoginNot(pageable, Constants.ANONYMOUS_USER).map(UserDTO::new);
+        Page<UserEntity> page = userRepository.findAllByLoginNot(pageable, Constants.ANONYMOUS_USER);
+        return new PageImpl<>(toUserDTOs(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    /**
+     * Get the managed users following a position, without counting them.
+     *
+     * @param cursor the position.
+     * @param size the maximum number of users.
+     * @return the users, with whether more users follow.
+     */
+    @Transactional(readOnly = true)
+    public Slice<UserDTO> getAllManagedUsers(UserCursor cursor, int size) {
+        List<UserEntity> users = userRepository.findAllByLoginNotAfter(
+            Constants.ANONYMOUS_USER,
+            cursor.getProperty(),
+            cursor.getDirection(),
+            cursor.getValue(),
+            cursor.getId(),
+            size + 1
+        );
+        boolean hasNext = users.size() > size;
+        return new SliceImpl<>(toUserDTOs(hasNext ? users.subList(0, size) : users), PageRequest.of(0, size), hasNext);
+    }
+
+    /**
+     * Send every managed user to a consumer, ordered by id, from a single consistent snapshot.
+     * <p>
+     * Users are streamed from the database and the persistence context is cleared every {@value #EXPORT_CHUNK_SIZE} users,
+     * so that memory does not grow with the number of users.
+     *
+     * @param consumer the consumer of the users.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void exportManagedUsers(Consumer<UserDTO> consumer) {
+        try (Stream<UserEntity> users = userRepository.streamAllByLoginNot(Constants.ANONYMOUS_USER)) {
+            Iterator<UserEntity> iterator = users.iterator();
+            List<UserEntity> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            int exported = 0;
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    toUserDTOs(chunk).forEach(consumer);
+                    exported += chunk.size();
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+            log.debug("Exported {} users", exported);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long countManagedUsers() {
+        return userRepository.countByLoginNot(Constants.ANONYMOUS_USER);
     }
 
     @Transactional(readOnly = true)
@@ -302,41 +479,67 @@ public class UserApplicationService {
     }
 
     @Transactional(readOnly = true)
-    public Optional<UserEntity> getUserWithAuthorities() {
-        return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
+    public Optional<UserPrincipal> getUserWithAuthorities() {
+        return SecurityUtils.getCurrentUserLogin().flatMap(userPrincipalIndex::findByLogin);
     }
 
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
-     * This is scheduled to get fired everyday, at 01:00 (am).
+     * This is scheduled to get fired everyday, at 01:00 (am), on a single instance.
      */
     @Scheduled(cron = "0 0 1 * * ?")
+    @SchedulerLock(name = "removeNotActivatedUsers", leaseSeconds = 3600, minHoldSeconds = 60)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(
-                user -> {
-                    log.debug("Deleting not activated user {}", user.getLogin());
-                    userRepository.delete(user);
-                    this.clearUserCaches(user);
-                }
-            );
+        notActivatedUsersPurge.purge();
     }
 
     /**
      * Gets a list of all the authorities.
      * @return a list of all the authorities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<String> getAuthorities() {
-        return authorityRepository.findAll().stream().map(AuthorityEntity::getName).collect(Collectors.toList());
+        return authorityRegistry.names();
+    }
+
+    /**
+     * Map users to DTOs, loading the authorities of all the users with a single query instead of one per user.
+     */
+    private List<UserDTO> toUserDTOs(List<UserEntity> users) {
+        if (users.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Set<String>> authorities = new HashMap<>();
+        userRepository
+            .findAllAuthoritiesByUserIdIn(users.stream().map(UserEntity::getId).collect(Collectors.toList()))
+            .forEach(row -> authorities.computeIfAbsent(row.getUserId(), id -> new HashSet<>()).add(row.getAuthority()));
+        Set<String> none = Collections.emptySet();
+        return users.stream().map(user -> new UserDTO(user, authorities.getOrDefault(user.getId(), none))).collect(Collectors.toList());
     }
 
     private void clearUserCaches(UserEntity userEntity) {
-        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(userEntity.getLogin());
-        if (userEntity.getEmail() != null) {
-            Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(userEntity.getEmail());
+        userCaches.evict(userEntity);
+    }
+
+    private void addKnownPrincipals(UserEntity userEntity) {
+        String login = userEntity.getLogin();
+        String email = userEntity.getEmail();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // a rebuild reading the database before the commit would not see the user
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCommit() {
+                        knownPrincipalsFilter.add(login);
+                        knownPrincipalsFilter.add(email);
+                    }
+                }
+            );
+        } else {
+            knownPrincipalsFilter.add(login);
+            knownPrincipalsFilter.add(email);
         }
     }
 }
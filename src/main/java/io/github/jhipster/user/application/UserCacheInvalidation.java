@@ -0,0 +1,63 @@
+package io.github.jhipster.user.application;
+
+import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Eviction of the cached data of one user, sent to the other instances through the {@link UserCacheInvalidationBus}.
+ */
+public final class UserCacheInvalidation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long userId;
+
+    private final String login;
+
+    private final String email;
+
+    public UserCacheInvalidation(Long userId, String login, String email) {
+        this.userId = userId;
+        this.login = login;
+        this.email = email;
+    }
+
+    static UserCacheInvalidation of(UserEntity userEntity) {
+        return new UserCacheInvalidation(userEntity.getId(), userEntity.getLogin(), userEntity.getEmail());
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserCacheInvalidation)) {
+            return false;
+        }
+        UserCacheInvalidation that = (UserCacheInvalidation) o;
+        return Objects.equals(userId, that.userId) && Objects.equals(login, that.login) && Objects.equals(email, that.email);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, login, email);
+    }
+
+    @Override
+    public String toString() {
+        return "UserCacheInvalidation{" + "userId=" + userId + ", login='" + login + '\'' + '}';
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.jhipster.user.application;
+
+import java.util.function.Consumer;
+
+/**
+ * Fans out the evictions of user caches to the other instances of the application.
+ */
+public interface UserCacheInvalidationBus {
+    /**
+     * Send an invalidation to the other instances. Implementations may batch and coalesce invalidations.
+     *
+     * @param invalidation the invalidation.
+     */
+    void publish(UserCacheInvalidation invalidation);
+
+    /**
+     * Register a subscriber, called with the invalidations received from the other instances.
+     *
+     * @param subscriber the subscriber.
+     */
+    void subscribe(Consumer<UserCacheInvalidation> subscriber);
+}
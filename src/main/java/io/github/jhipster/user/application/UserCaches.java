@@ -0,0 +1,103 @@
+package io.github.jhipster.user.application;
+
+import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import java.util.Collection;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts the cached data of a user: the principals cache, the verified credentials and the Hibernate {@link UserEntity}
+ * and authorities regions, on this instance and, through the {@link UserCacheInvalidationBus}, on the other ones.
+ */
+@Component
+public class UserCaches {
+
+    private static final String AUTHORITIES_ROLE = UserEntity.class.getName() + ".authorities";
+
+    private final Logger log = LoggerFactory.getLogger(UserCaches.class);
+
+    private final UserPrincipalIndex userPrincipalIndex;
+
+    private final VerifiedCredentialCache verifiedCredentialCache;
+
+    private final KnownPrincipalsFilter knownPrincipalsFilter;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final UserCacheInvalidationBus invalidationBus;
+
+    public UserCaches(
+        UserPrincipalIndex userPrincipalIndex,
+        VerifiedCredentialCache verifiedCredentialCache,
+        KnownPrincipalsFilter knownPrincipalsFilter,
+        EntityManagerFactory entityManagerFactory,
+        UserCacheInvalidationBus invalidationBus
+    ) {
+        this.userPrincipalIndex = userPrincipalIndex;
+        this.verifiedCredentialCache = verifiedCredentialCache;
+        this.knownPrincipalsFilter = knownPrincipalsFilter;
+        this.entityManagerFactory = entityManagerFactory;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(this::onRemoteInvalidation);
+    }
+
+    /**
+     * Evict the cached data of a user on this instance now and once the current transaction is committed, and on the
+     * other instances once it is committed.
+     * <p>
+     * The second local eviction drops the stale data a concurrent request may have loaded before the commit.
+     *
+     * @param userEntity the user.
+     */
+    public void evict(UserEntity userEntity) {
+        evictAll(List.of(UserCacheInvalidation.of(userEntity)));
+    }
+
+    /**
+     * Evict the cached data of several users, like {@link #evict(UserEntity)} but with a single transaction
+     * synchronization.
+     *
+     * @param invalidations the users.
+     */
+    public void evictAll(Collection<UserCacheInvalidation> invalidations) {
+        invalidations.forEach(this::evictLocally);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCommit() {
+                        invalidations.forEach(UserCaches.this::evictLocally);
+                        invalidations.forEach(invalidationBus::publish);
+                    }
+                }
+            );
+        } else {
+            invalidations.forEach(invalidationBus::publish);
+        }
+    }
+
+    private void onRemoteInvalidation(UserCacheInvalidation invalidation) {
+        log.debug("Evicting remotely changed user {}", invalidation.getLogin());
+        evictLocally(invalidation);
+        // the user may have been created on another instance
+        knownPrincipalsFilter.add(invalidation.getLogin());
+        knownPrincipalsFilter.add(invalidation.getEmail());
+    }
+
+    private void evictLocally(UserCacheInvalidation invalidation) {
+        userPrincipalIndex.evict(invalidation.getLogin(), invalidation.getEmail());
+        verifiedCredentialCache.evict(invalidation.getLogin());
+        if (invalidation.getUserId() != null) {
+            Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+            cache.evict(UserEntity.class, invalidation.getUserId());
+            // the authorities of the user are cached in their own collection region
+            cache.evictCollectionData(AUTHORITIES_ROLE, invalidation.getUserId());
+        }
+    }
+}
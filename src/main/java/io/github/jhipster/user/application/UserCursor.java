@@ -0,0 +1,120 @@
+package io.github.jhipster.user.application;
+
+import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position in the list of users ordered by a property then by id, used for keyset pagination.
+ * <p>
+ * Only the indexed properties can be used: {@code id}, {@code login} and {@code email}. It is sent to clients as an
+ * opaque, URL-safe string.
+ */
+public final class UserCursor {
+
+    private static final String SEPARATOR = ",";
+
+    private static final Set<String> PROPERTIES = Set.of("id", "login", "email");
+
+    private final String property;
+
+    private final Sort.Direction direction;
+
+    private final Object value;
+
+    private final Long id;
+
+    private UserCursor(String property, Sort.Direction direction, Object value, Long id) {
+        this.property = property;
+        this.direction = direction;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * @param property a property to order by.
+     * @return whether users can be paginated by keyset on this property.
+     */
+    public static boolean supports(String property) {
+        return PROPERTIES.contains(property);
+    }
+
+    /**
+     * @param property the property to order by, one of the {@link #supports(String) supported} ones.
+     * @param direction the direction.
+     * @return the position before the first user.
+     */
+    public static UserCursor first(String property, Sort.Direction direction) {
+        return new UserCursor(property, direction, null, null);
+    }
+
+    /**
+     * @param user the last user of a page.
+     * @return the position following the user, in the same order as this cursor.
+     */
+    public UserCursor after(UserDTO user) {
+        return new UserCursor(property, direction, valueOf(user), user.getId());
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String position = property + SEPARATOR + direction + SEPARATOR + id + (value == null ? "" : SEPARATOR + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor an encoded cursor.
+     * @return the cursor, or empty if it is not valid.
+     */
+    public static Optional<UserCursor> decode(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+            if (position.length < 3 || !supports(position[0])) {
+                return Optional.empty();
+            }
+            String property = position[0];
+            Object value = position.length == 4 ? parse(property, position[3]) : null;
+            if (value == null && !"email".equals(property)) {
+                return Optional.empty();
+            }
+            return Optional.of(new UserCursor(property, Sort.Direction.valueOf(position[1]), value, Long.valueOf(position[2])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Object valueOf(UserDTO user) {
+        switch (property) {
+            case "id":
+                return user.getId();
+            case "login":
+                return user.getLogin();
+            case "email":
+                return user.getEmail();
+            default:
+                throw new IllegalArgumentException("Users cannot be paginated by " + property);
+        }
+    }
+
+    private static Object parse(String property, String value) {
+        return "id".equals(property) ? Long.valueOf(value) : value;
+    }
+}
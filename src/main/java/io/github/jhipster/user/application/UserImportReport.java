@@ -0,0 +1,38 @@
+package io.github.jhipster.user.application;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a bulk user import, row by row.
+ */
+public class UserImportReport {
+
+    private final List<UserImportResult> rows = new ArrayList<>();
+
+    private int created;
+
+    private int failed;
+
+    void add(UserImportResult result) {
+        rows.add(result);
+        if (result.getStatus() == UserImportResult.Status.CREATED) {
+            created++;
+        } else {
+            failed++;
+        }
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<UserImportResult> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.jhipster.user.application;
+
+/**
+ * Outcome of the import of one row.
+ */
+public class UserImportResult {
+
+    public enum Status {
+        CREATED,
+        FAILED,
+    }
+
+    private final long line;
+
+    private final String login;
+
+    private final Status status;
+
+    private final String message;
+
+    private UserImportResult(long line, String login, Status status, String message) {
+        this.line = line;
+        this.login = login;
+        this.status = status;
+        this.message = message;
+    }
+
+    static UserImportResult created(long line, String login) {
+        return new UserImportResult(line, login, Status.CREATED, null);
+    }
+
+    static UserImportResult failed(long line, String login, String message) {
+        return new UserImportResult(line, login, Status.FAILED, message);
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
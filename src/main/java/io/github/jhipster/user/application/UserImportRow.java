@@ -0,0 +1,44 @@
+package io.github.jhipster.user.application;
+
+import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
+
+/**
+ * A row read from a user import file: either a user, or the reason why the row could not be read.
+ */
+public final class UserImportRow {
+
+    private final long line;
+
+    private final UserDTO user;
+
+    private final String error;
+
+    private UserImportRow(long line, UserDTO user, String error) {
+        this.line = line;
+        this.user = user;
+        this.error = error;
+    }
+
+    public static UserImportRow of(long line, UserDTO user) {
+        return new UserImportRow(line, user, null);
+    }
+
+    public static UserImportRow unreadable(long line, String error) {
+        return new UserImportRow(line, null, error);
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * @return the user, or null if the row could not be read.
+     */
+    public UserDTO getUser() {
+        return user;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,289 @@
+package io.github.jhipster.user.application;
+
+import io.github.jhipster.common.domain.Constants;
+import io.github.jhipster.common.domain.error.JHipsterException;
+import io.github.jhipster.user.domain.User;
+import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
+import io.github.jhipster.user.infrastructure.secondary.database.AuthorityEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import io.github.jhipster.user.infrastructure.secondary.smtp.MailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.security.RandomUtil;
+
+/**
+ * Creates users in bulk from an import file.
+ * <p>
+ * Rows are validated with the {@link User} domain assertions, and valid rows are inserted
+ * {@value #CHUNK_SIZE} at a time, one transaction per chunk, so that Hibernate sends them in JDBC batches
+ * ({@code hibernate.jdbc.batch_size}). Imported users are activated with a reset key, like users created by an
+ * administrator, and share the hash of a random password nobody knows: the password is hashed once per import instead
+ * of once per user. Their creation email, with the reset key, is queued in the chunk transaction, and their logins and
+ * emails are published to the other instances once it is committed.
+ */
+@Service
+public class UserImporter {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String METRIC_NAME = "users.import.rows";
+
+    private final Logger log = LoggerFactory.getLogger(UserImporter.class);
+
+    private final UserRepository userRepository;
+
+    private final AuthorityRegistry authorityRegistry;
+
+    private final KnownPrincipalsFilter knownPrincipalsFilter;
+
+    private final UserCaches userCaches;
+
+    private final MailService mailService;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter createdRows;
+
+    private final Counter failedRows;
+
+    private final AtomicInteger activeImports = new AtomicInteger();
+
+    public UserImporter(
+        UserRepository userRepository,
+        AuthorityRegistry authorityRegistry,
+        KnownPrincipalsFilter knownPrincipalsFilter,
+        UserCaches userCaches,
+        MailService mailService,
+        PasswordEncoder passwordEncoder,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.authorityRegistry = authorityRegistry;
+        this.knownPrincipalsFilter = knownPrincipalsFilter;
+        this.userCaches = userCaches;
+        this.mailService = mailService;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.createdRows = Counter.builder(METRIC_NAME).tag("result", "created").register(meterRegistry);
+        this.failedRows = Counter.builder(METRIC_NAME).tag("result", "failed").register(meterRegistry);
+        Gauge.builder("users.import.active", activeImports, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Import users.
+     *
+     * @param rows the rows read from the import file.
+     * @return the result of each row.
+     */
+    public UserImportReport importUsers(Stream<UserImportRow> rows) {
+        activeImports.incrementAndGet();
+        try {
+            String passwordHash = passwordEncoder.encode(RandomUtil.generatePassword());
+            UserImportReport report = new UserImportReport();
+            Set<String> seenLogins = new HashSet<>();
+            Set<String> seenEmails = new HashSet<>();
+            List<UserImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            Iterator<UserImportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    importChunk(chunk, passwordHash, seenLogins, seenEmails).forEach(report::add);
+                    chunk.clear();
+                }
+            }
+            log.info("Imported {} users, {} rows failed", report.getCreated(), report.getFailed());
+            return report;
+        } finally {
+            activeImports.decrementAndGet();
+        }
+    }
+
+    private List<UserImportResult> importChunk(
+        List<UserImportRow> chunk,
+        String passwordHash,
+        Set<String> seenLogins,
+        Set<String> seenEmails
+    ) {
+        List<UserImportResult> results = new ArrayList<>(chunk.size());
+        List<UserImportRow> valid = new ArrayList<>(chunk.size());
+        for (UserImportRow row : chunk) {
+            Optional<String> error = validate(row);
+            if (error.isPresent()) {
+                results.add(failed(row, error.get()));
+            } else {
+                valid.add(row);
+            }
+        }
+        List<UserEntity> users = new ArrayList<>(valid.size());
+        List<UserImportRow> imported = new ArrayList<>(valid.size());
+        // only added to the logins and emails seen by the import once the chunk is committed
+        Set<String> chunkLogins = new HashSet<>();
+        Set<String> chunkEmails = new HashSet<>();
+        try {
+            transactionTemplate.executeWithoutResult(
+                status -> {
+                    Set<String> existingLogins = existingLogins(valid, seenLogins);
+                    Set<String> existingEmails = existingEmails(valid, seenEmails);
+                    Instant now = Instant.now();
+                    for (UserImportRow row : valid) {
+                        Optional<String> conflict = conflict(row.getUser(), existingLogins, chunkLogins, existingEmails, chunkEmails);
+                        if (conflict.isPresent()) {
+                            results.add(failed(row, conflict.get()));
+                        } else {
+                            users.add(toEntity(row.getUser(), passwordHash, now));
+                            imported.add(row);
+                        }
+                    }
+                    userRepository.saveAll(users);
+                    entityManager.flush();
+                    users.forEach(mailService::sendCreationEmail);
+                    userCaches.evictAll(users.stream().map(UserCacheInvalidation::of).collect(Collectors.toList()));
+                    entityManager.clear();
+                }
+            );
+            seenLogins.addAll(chunkLogins);
+            seenEmails.addAll(chunkEmails);
+            for (int i = 0; i < imported.size(); i++) {
+                UserEntity user = users.get(i);
+                knownPrincipalsFilter.add(user.getLogin());
+                knownPrincipalsFilter.add(user.getEmail());
+                createdRows.increment();
+                results.add(UserImportResult.created(imported.get(i).getLine(), user.getLogin()));
+            }
+        } catch (DataAccessException | PersistenceException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Could not import a chunk of {} users: {}", imported.size(), cause);
+            imported.forEach(row -> results.add(failed(row, "The user could not be saved: " + cause)));
+        }
+        results.sort((first, second) -> Long.compare(first.getLine(), second.getLine()));
+        return results;
+    }
+
+    private Optional<String> validate(UserImportRow row) {
+        if (row.getUser() == null) {
+            return Optional.of(row.getError());
+        }
+        try {
+            User.toDomain(row.getUser());
+        } catch (JHipsterException e) {
+            return Optional.of(e.getMessage());
+        }
+        return authorities(row.getUser())
+            .stream()
+            .filter(authority -> authorityRegistry.find(authority).isEmpty())
+            .findFirst()
+            .map(authority -> "Unknown authority " + authority);
+    }
+
+    /**
+     * @return the logins of the rows already used, in the database or by the previous chunks of the import.
+     */
+    private Set<String> existingLogins(List<UserImportRow> rows, Set<String> seenLogins) {
+        Set<String> logins = rows.stream().map(row -> login(row.getUser())).collect(Collectors.toSet());
+        Set<String> existing = logins.isEmpty() ? new HashSet<>() : new HashSet<>(userRepository.findAllLoginsByLoginIn(logins));
+        logins.stream().filter(seenLogins::contains).forEach(existing::add);
+        return existing;
+    }
+
+    /**
+     * @return the emails of the rows already used, in the database or by the previous chunks of the import.
+     */
+    private Set<String> existingEmails(List<UserImportRow> rows, Set<String> seenEmails) {
+        Set<String> emails = rows.stream().map(row -> email(row.getUser())).filter(Objects::nonNull).collect(Collectors.toSet());
+        if (emails.isEmpty()) {
+            return new HashSet<>();
+        }
+        // emails are stored in lower case, so the unique index on the column can be used
+        Set<String> existing = new HashSet<>(userRepository.findAllEmailsByEmailIn(emails));
+        emails.stream().filter(seenEmails::contains).forEach(existing::add);
+        return existing;
+    }
+
+    private static Optional<String> conflict(
+        UserDTO user,
+        Set<String> existingLogins,
+        Set<String> seenLogins,
+        Set<String> existingEmails,
+        Set<String> seenEmails
+    ) {
+        String login = login(user);
+        String email = email(user);
+        if (existingLogins.contains(login) || seenLogins.contains(login)) {
+            return Optional.of("Login name already used!");
+        }
+        if (email != null && (existingEmails.contains(email) || seenEmails.contains(email))) {
+            return Optional.of("Email is already in use!");
+        }
+        seenLogins.add(login);
+        if (email != null) {
+            seenEmails.add(email);
+        }
+        return Optional.empty();
+    }
+
+    private UserEntity toEntity(UserDTO userDTO, String passwordHash, Instant now) {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setLogin(login(userDTO));
+        userEntity.setFirstName(userDTO.getFirstName());
+        userEntity.setLastName(userDTO.getLastName());
+        userEntity.setEmail(email(userDTO));
+        userEntity.setImageUrl(userDTO.getImageUrl());
+        userEntity.setLangKey(userDTO.getLangKey() == null ? Constants.DEFAULT_LANGUAGE : userDTO.getLangKey());
+        userEntity.setPassword(passwordHash);
+        userEntity.setResetKey(RandomUtil.generateResetKey());
+        userEntity.setResetDate(now);
+        userEntity.setActivated(true);
+        Set<AuthorityEntity> authorities = new HashSet<>();
+        authorities(userDTO).forEach(authority -> authorityRegistry.find(authority).ifPresent(authorities::add));
+        userEntity.setAuthorities(authorities);
+        return userEntity;
+    }
+
+    private UserImportResult failed(UserImportRow row, String message) {
+        failedRows.increment();
+        return UserImportResult.failed(row.getLine(), row.getUser() == null ? null : row.getUser().getLogin(), message);
+    }
+
+    private static Set<String> authorities(UserDTO user) {
+        return user.getAuthorities() == null ? Set.of() : user.getAuthorities();
+    }
+
+    private static String login(UserDTO user) {
+        return user.getLogin().toLowerCase(Locale.ENGLISH);
+    }
+
+    private static String email(UserDTO user) {
+        return user.getEmail() == null ? null : user.getEmail().toLowerCase(Locale.ENGLISH);
+    }
+}
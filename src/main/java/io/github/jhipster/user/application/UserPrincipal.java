@@ -0,0 +1,165 @@
+package io.github.jhipster.user.application;
+
+import io.github.jhipster.user.infrastructure.secondary.database.AuthorityEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable snapshot of a user, holding only what authentication and {@code /api/account} need, cached by
+ * {@link UserPrincipalIndex}.
+ * <p>
+ * It is mapped once when loaded: the activation and reset keys and the Hibernate collections are not kept, and the
+ * authorities and language keys are shared between snapshots.
+ */
+public final class UserPrincipal implements Serializable {
+
+    private static final long serialVersionUID = 3L;
+
+    private static final int MAX_AUTHORITIES_COMBINATIONS = 256;
+
+    private static final Map<List<String>, List<String>> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private final Long id;
+
+    private final String login;
+
+    private final String email;
+
+    private final String password;
+
+    private final boolean activated;
+
+    private final String firstName;
+
+    private final String lastName;
+
+    private final String imageUrl;
+
+    private final String langKey;
+
+    private final String createdBy;
+
+    private final Instant createdDate;
+
+    private final String lastModifiedBy;
+
+    private final Instant lastModifiedDate;
+
+    private final List<String> authorities;
+
+    private final long loadedAt;
+
+    private UserPrincipal(UserEntity userEntity, List<String> authorities, long loadedAt) {
+        this.id = userEntity.getId();
+        this.login = userEntity.getLogin();
+        this.email = userEntity.getEmail();
+        this.password = userEntity.getPassword();
+        this.activated = userEntity.isActivated();
+        this.firstName = userEntity.getFirstName();
+        this.lastName = userEntity.getLastName();
+        this.imageUrl = userEntity.getImageUrl();
+        this.langKey = userEntity.getLangKey() == null ? null : userEntity.getLangKey().intern();
+        this.createdBy = userEntity.getCreatedBy();
+        this.createdDate = userEntity.getCreatedDate();
+        this.lastModifiedBy = userEntity.getLastModifiedBy();
+        this.lastModifiedDate = userEntity.getLastModifiedDate();
+        this.authorities = authorities;
+        this.loadedAt = loadedAt;
+    }
+
+    static UserPrincipal from(UserEntity userEntity, long loadedAt) {
+        return new UserPrincipal(
+            userEntity,
+            intern(userEntity.getAuthorities().stream().map(AuthorityEntity::getName).sorted().toArray(String[]::new)),
+            loadedAt
+        );
+    }
+
+    private static List<String> intern(String[] authorities) {
+        List<String> key = List.of(authorities);
+        List<String> interned = AUTHORITIES.get(key);
+        if (interned != null) {
+            return interned;
+        }
+        if (AUTHORITIES.size() >= MAX_AUTHORITIES_COMBINATIONS) {
+            return key;
+        }
+        interned = AUTHORITIES.putIfAbsent(key, key);
+        return interned == null ? key : interned;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public boolean isActivated() {
+        return activated;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public String getLangKey() {
+        return langKey;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public String getLastModifiedBy() {
+        return lastModifiedBy;
+    }
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    /**
+     * @return the sorted, unmodifiable authority names, shared by the snapshots having the same authorities.
+     */
+    public List<String> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * @return the time this snapshot was loaded from the database, in milliseconds since the epoch.
+     */
+    long getLoadedAt() {
+        return loadedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal{" + "login='" + login + '\'' + ", activated=" + activated + ", authorities=" + authorities + '}';
+    }
+}
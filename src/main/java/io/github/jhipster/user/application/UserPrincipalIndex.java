@@ -0,0 +1,326 @@
+package io.github.jhipster.user.application;
+
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single cache of {@link UserPrincipal} snapshots, indexed by both login and lowercased email.
+ * <p>
+ * A user is loaded with one query whatever the key used, and the same snapshot instance is stored under both keys. Logins
+ * and emails live in separate keyspaces ({@code login:} and {@code email:} prefixes), so a login equal to the email of
+ * another user never overwrites the entry of that user, and a login containing an {@code @} which no user owns as an
+ * email is marked as such in the {@code email:} keyspace.
+ * Concurrent misses on the same key share a single query, and entries older than
+ * {@code application.cache.principals.refresh-after-seconds} are reloaded in the background before they expire.
+ */
+@Component
+public class UserPrincipalIndex {
+
+    public static final String PRINCIPALS_CACHE = "principals";
+
+    private static final String LOGIN_PREFIX = "login:";
+
+    private static final String EMAIL_PREFIX = "email:";
+
+    private static final String METRIC_NAME = "cache.principals.loads";
+
+    private static final int WARM_UP_CHUNK_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(UserPrincipalIndex.class);
+
+    private final UserRepository userRepository;
+
+    private final CacheManager cacheManager;
+
+    private final Executor refreshExecutor;
+
+    private final Clock clock;
+
+    private final long refreshAfterMillis;
+
+    private final Map<String, CompletableFuture<List<UserPrincipal>>> loading = new ConcurrentHashMap<>();
+
+    private final Counter loads;
+
+    private final Counter coalescedLoads;
+
+    private final Counter refreshes;
+
+    private final Timer coalescedWait;
+
+    @Autowired
+    public UserPrincipalIndex(
+        UserRepository userRepository,
+        CacheManager cacheManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        @Qualifier("taskExecutor") Executor refreshExecutor
+    ) {
+        this(userRepository, cacheManager, applicationProperties, meterRegistry, refreshExecutor, Clock.systemUTC());
+    }
+
+    UserPrincipalIndex(
+        UserRepository userRepository,
+        CacheManager cacheManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        Executor refreshExecutor,
+        Clock clock
+    ) {
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.refreshAfterMillis = applicationProperties.getCache().getPrincipals().getRefreshAfterSeconds() * 1000;
+        this.loads = Counter.builder(METRIC_NAME).tag("result", "loaded").register(meterRegistry);
+        this.coalescedLoads = Counter.builder(METRIC_NAME).tag("result", "coalesced").register(meterRegistry);
+        this.refreshes = Counter.builder(METRIC_NAME).tag("result", "refreshed").register(meterRegistry);
+        this.coalescedWait = Timer.builder(METRIC_NAME + ".coalesced.wait").register(meterRegistry);
+    }
+
+    /**
+     * Find the principal of a user by login or email, ignoring case.
+     * <p>
+     * When a login matches the email of another user, the user owning the email wins.
+     *
+     * @param loginOrEmail the login or email.
+     * @return the principal, or empty if no user matches.
+     */
+    public Optional<UserPrincipal> find(String loginOrEmail) {
+        String key = normalize(loginOrEmail);
+        Cache cache = principalsCache();
+        Object byEmail = cache.get(EMAIL_PREFIX + key, Object.class);
+        UserPrincipal cached = byEmail instanceof UserPrincipal ? (UserPrincipal) byEmail : null;
+        if (cached == null && (key.indexOf('@') < 0 || byEmail == NoEmailOwner.INSTANCE)) {
+            // emails are validated to contain an @, and a key with an @ is only read as a login once no user owns it
+            // as an email
+            cached = cache.get(LOGIN_PREFIX + key, UserPrincipal.class);
+        }
+        if (cached != null) {
+            refreshIfStale(cached);
+            return Optional.of(cached);
+        }
+        List<UserPrincipal> candidates = load(key);
+        candidates.forEach(principal -> put(cache, principal));
+        Optional<UserPrincipal> selected = select(key, candidates);
+        if (key.indexOf('@') >= 0 && selected.isPresent() && !ownsEmail(key, selected.get())) {
+            cache.put(EMAIL_PREFIX + key, NoEmailOwner.INSTANCE);
+        }
+        return selected;
+    }
+
+    /**
+     * Find the principal of a user by login only, ignoring emails.
+     *
+     * @param login the login.
+     * @return the principal, or empty if no user has this login.
+     */
+    public Optional<UserPrincipal> findByLogin(String login) {
+        String key = normalize(login);
+        Cache cache = principalsCache();
+        UserPrincipal cached = cache.get(LOGIN_PREFIX + key, UserPrincipal.class);
+        if (cached != null) {
+            refreshIfStale(cached);
+            return Optional.of(cached);
+        }
+        List<UserPrincipal> candidates = load(key);
+        candidates.forEach(principal -> put(cache, principal));
+        return candidates.stream().filter(principal -> key.equals(principal.getLogin())).findFirst();
+    }
+
+    /**
+     * Load the principals of the given logins into the cache, a chunk of logins per query.
+     *
+     * @param logins the logins.
+     * @return the number of principals loaded.
+     */
+    public int warm(List<String> logins) {
+        Cache cache = principalsCache();
+        int loaded = 0;
+        for (int start = 0; start < logins.size(); start += WARM_UP_CHUNK_SIZE) {
+            List<String> chunk = logins.subList(start, Math.min(start + WARM_UP_CHUNK_SIZE, logins.size()));
+            long now = clock.millis();
+            for (UserEntity user : userRepository.findAllWithAuthoritiesByLoginIn(chunk)) {
+                put(cache, UserPrincipal.from(user, now));
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * List the logins of the cached principals, most recently loaded first.
+     *
+     * @param maxEntries the maximum number of logins.
+     * @return the logins.
+     */
+    public List<String> hotLogins(int maxEntries) {
+        Object nativeCache = principalsCache().getNativeCache();
+        Stream<Object> values;
+        if (nativeCache instanceof javax.cache.Cache) {
+            values = StreamSupport
+                .stream(((javax.cache.Cache<?, ?>) nativeCache).spliterator(), false)
+                .map(javax.cache.Cache.Entry::getValue);
+        } else if (nativeCache instanceof Map) {
+            values = ((Map<?, ?>) nativeCache).values().stream().map(Object.class::cast);
+        } else {
+            return List.of();
+        }
+        return values
+            .filter(UserPrincipal.class::isInstance)
+            .map(UserPrincipal.class::cast)
+            .distinct()
+            .sorted(Comparator.comparingLong(UserPrincipal::getLoadedAt).reversed())
+            .limit(maxEntries)
+            .map(UserPrincipal::getLogin)
+            .collect(Collectors.toList());
+    }
+
+    public void evict(UserEntity userEntity) {
+        evict(userEntity.getLogin(), userEntity.getEmail());
+    }
+
+    public void evict(String login, String email) {
+        Cache cache = principalsCache();
+        if (login != null) {
+            cache.evict(LOGIN_PREFIX + normalize(login));
+        }
+        if (email != null) {
+            cache.evict(EMAIL_PREFIX + normalize(email));
+        }
+    }
+
+    /**
+     * Load the principals matching a key, sharing the query with the concurrent callers loading the same key.
+     */
+    private List<UserPrincipal> load(String key) {
+        CompletableFuture<List<UserPrincipal>> future = new CompletableFuture<>();
+        CompletableFuture<List<UserPrincipal>> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            coalescedLoads.increment();
+            return coalescedWait.record(() -> join(inFlight));
+        }
+        loads.increment();
+        try {
+            List<UserPrincipal> principals = query(key);
+            future.complete(principals);
+            return principals;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    private List<UserPrincipal> query(String key) {
+        long now = clock.millis();
+        return userRepository
+            .findAllWithAuthoritiesByLoginOrEmail(key)
+            .stream()
+            .map(user -> UserPrincipal.from(user, now))
+            .collect(Collectors.toList());
+    }
+
+    private void refreshIfStale(UserPrincipal cached) {
+        String login = cached.getLogin();
+        if (refreshAfterMillis <= 0 || clock.millis() - cached.getLoadedAt() < refreshAfterMillis || loading.containsKey(login)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> refresh(cached));
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipping the refresh of principal {}: {}", login, e.getMessage());
+        }
+    }
+
+    /**
+     * Reload a stale principal by login, the only key that cannot be shared with another user.
+     */
+    private void refresh(UserPrincipal stale) {
+        Cache cache = principalsCache();
+        UserPrincipal cached = cache.get(LOGIN_PREFIX + normalize(stale.getLogin()), UserPrincipal.class);
+        if (cached != null && clock.millis() - cached.getLoadedAt() < refreshAfterMillis) {
+            return;
+        }
+        refreshes.increment();
+        List<UserPrincipal> candidates = load(stale.getLogin());
+        Optional<UserPrincipal> refreshed = candidates.stream().filter(principal -> stale.getLogin().equals(principal.getLogin())).findFirst();
+        if (refreshed.isEmpty() || !Objects.equals(refreshed.get().getEmail(), stale.getEmail())) {
+            evict(stale.getLogin(), stale.getEmail());
+        }
+        candidates.forEach(principal -> put(cache, principal));
+    }
+
+    private static List<UserPrincipal> join(CompletableFuture<List<UserPrincipal>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static Optional<UserPrincipal> select(String key, List<UserPrincipal> candidates) {
+        return candidates
+            .stream()
+            .filter(principal -> ownsEmail(key, principal))
+            .findFirst()
+            .or(() -> candidates.stream().findFirst());
+    }
+
+    private static boolean ownsEmail(String key, UserPrincipal principal) {
+        return principal.getEmail() != null && key.equals(normalize(principal.getEmail()));
+    }
+
+    private static void put(Cache cache, UserPrincipal principal) {
+        cache.put(LOGIN_PREFIX + normalize(principal.getLogin()), principal);
+        if (principal.getEmail() != null) {
+            cache.put(EMAIL_PREFIX + normalize(principal.getEmail()), principal);
+        }
+    }
+
+    /**
+     * Cached under the {@code email:} key of a login containing an {@code @} when no user owns it as an email, so that
+     * the login is then read from the {@code login:} keyspace. Evicted with the email key when a user takes the email.
+     */
+    private enum NoEmailOwner {
+        INSTANCE,
+    }
+
+    private Cache principalsCache() {
+        return Objects.requireNonNull(cacheManager.getCache(PRINCIPALS_CACHE));
+    }
+
+    private static String normalize(String loginOrEmail) {
+        return loginOrEmail.toLowerCase(Locale.ENGLISH);
+    }
+}
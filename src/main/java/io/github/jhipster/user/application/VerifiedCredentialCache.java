@@ -0,0 +1,132 @@
+package io.github.jhipster.user.application;
+
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived cache of successful login/password checks, so that repeated HTTP Basic calls do not run the password
+ * encoder each time.
+ * <p>
+ * Entries are kept in the {@value #CACHE_NAME} JCache cache, sized by
+ * {@code application.security.authentication.credential-cache}. Only an HMAC of the login, the clear text password and
+ * the stored password hash is kept, with a key generated at startup. Changing the password therefore invalidates the
+ * entry, which is also evicted explicitly by {@link UserApplicationService}.
+ */
+@Component
+public class VerifiedCredentialCache {
+
+    public static final String CACHE_NAME = "verifiedCredentials";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+
+    private final long timeToLiveSeconds;
+
+    private final Cache<String, VerifiedCredential> credentials;
+
+    private final Clock clock;
+
+    private final SecretKeySpec key;
+
+    @Autowired
+    public VerifiedCredentialCache(ApplicationProperties applicationProperties, CacheManager cacheManager) {
+        this(applicationProperties, cacheManager, Clock.systemUTC());
+    }
+
+    VerifiedCredentialCache(ApplicationProperties applicationProperties, CacheManager cacheManager, Clock clock) {
+        ApplicationProperties.Security.Authentication.CredentialCache credentialCache = applicationProperties
+            .getSecurity()
+            .getAuthentication()
+            .getCredentialCache();
+        this.enabled = credentialCache.isEnabled();
+        this.timeToLiveSeconds = credentialCache.getTimeToLiveSeconds();
+        this.credentials = cacheManager.getCache(CACHE_NAME);
+        this.clock = clock;
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        this.key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Check whether this password was recently verified against this stored password hash.
+     *
+     * @param login the user login.
+     * @param password the clear text password.
+     * @param passwordHash the stored password hash.
+     * @return true if the credentials were verified less than the time-to-live ago.
+     */
+    public boolean isVerified(String login, String password, String passwordHash) {
+        if (!enabled) {
+            return false;
+        }
+        VerifiedCredential verifiedCredential = credentials.get(login);
+        if (verifiedCredential == null) {
+            return false;
+        }
+        if (!clock.instant().isBefore(verifiedCredential.expiration)) {
+            credentials.remove(login, verifiedCredential);
+            return false;
+        }
+        return MessageDigest.isEqual(verifiedCredential.digest, digest(login, password, passwordHash));
+    }
+
+    public void put(String login, String password, String passwordHash) {
+        if (enabled) {
+            credentials.put(
+                login,
+                new VerifiedCredential(digest(login, password, passwordHash), clock.instant().plusSeconds(timeToLiveSeconds))
+            );
+        }
+    }
+
+    public void evict(String login) {
+        if (login != null) {
+            credentials.remove(login);
+        }
+    }
+
+    private byte[] digest(String login, String password, String passwordHash) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(login.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(password.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(passwordHash.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static final class VerifiedCredential implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] digest;
+
+        private final Instant expiration;
+
+        private VerifiedCredential(byte[] digest, Instant expiration) {
+            this.digest = digest;
+            this.expiration = expiration;
+        }
+    }
+}
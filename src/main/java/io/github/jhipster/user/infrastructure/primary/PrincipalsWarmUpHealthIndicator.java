@@ -0,0 +1,29 @@
+package io.github.jhipster.user.infrastructure.primary;
+
+import io.github.jhipster.user.application.PrincipalsWarmUp;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} until the principals cache has been warmed up, and is part of the readiness group.
+ */
+@Component
+public class PrincipalsWarmUpHealthIndicator extends AbstractHealthIndicator {
+
+    private final PrincipalsWarmUp principalsWarmUp;
+
+    public PrincipalsWarmUpHealthIndicator(PrincipalsWarmUp principalsWarmUp) {
+        this.principalsWarmUp = principalsWarmUp;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        if (principalsWarmUp.isWarm()) {
+            builder.up();
+        } else {
+            builder.outOfService();
+        }
+        builder.withDetail("loaded", principalsWarmUp.getLoaded());
+    }
+}
@@ -1,9 +1,11 @@
 package io.github.jhipster.user.infrastructure.primary.dto;
 
 import io.github.jhipster.common.domain.Constants;
+import io.github.jhipster.user.application.UserPrincipal;
 import io.github.jhipster.user.infrastructure.secondary.database.AuthorityEntity;
 import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.validation.constraints.*;
@@ -53,6 +55,14 @@ public class UserDTO {
     }
 
     public UserDTO(UserEntity userEntity) {
+        this(userEntity, userEntity.getAuthorities().stream().map(AuthorityEntity::getName).collect(Collectors.toSet()));
+    }
+
+    /**
+     * @param userEntity the user.
+     * @param authorities the names of the authorities of the user, already loaded.
+     */
+    public UserDTO(UserEntity userEntity, Set<String> authorities) {
         this.id = userEntity.getId();
         this.login = userEntity.getLogin();
         this.firstName = userEntity.getFirstName();
@@ -65,7 +75,23 @@ public class UserDTO {
         this.createdDate = userEntity.getCreatedDate();
         this.lastModifiedBy = userEntity.getLastModifiedBy();
         this.lastModifiedDate = userEntity.getLastModifiedDate();
-        this.authorities = userEntity.getAuthorities().stream().map(AuthorityEntity::getName).collect(Collectors.toSet());
+        this.authorities = new HashSet<>(authorities);
+    }
+
+    public UserDTO(UserPrincipal userPrincipal) {
+        this.id = userPrincipal.getId();
+        this.login = userPrincipal.getLogin();
+        this.firstName = userPrincipal.getFirstName();
+        this.lastName = userPrincipal.getLastName();
+        this.email = userPrincipal.getEmail();
+        this.activated = userPrincipal.isActivated();
+        this.imageUrl = userPrincipal.getImageUrl();
+        this.langKey = userPrincipal.getLangKey();
+        this.createdBy = userPrincipal.getCreatedBy();
+        this.createdDate = userPrincipal.getCreatedDate();
+        this.lastModifiedBy = userPrincipal.getLastModifiedBy();
+        this.lastModifiedDate = userPrincipal.getLastModifiedDate();
+        this.authorities = new HashSet<>(userPrincipal.getAuthorities());
     }
 
     public Long getId() {
@@ -11,7 +11,6 @@ import io.github.jhipster.user.infrastructure.primary.dto.PasswordChangeDTO;
 import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
 import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
 import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
-import io.github.jhipster.user.infrastructure.secondary.smtp.MailService;
 import java.util.*;
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
@@ -41,12 +40,9 @@ public class AccountResource {
 
     private final UserApplicationService userApplicationService;
 
-    private final MailService mailService;
-
-    public AccountResource(UserRepository userRepository, UserApplicationService userApplicationService, MailService mailService) {
+    public AccountResource(UserRepository userRepository, UserApplicationService userApplicationService) {
         this.userRepository = userRepository;
         this.userApplicationService = userApplicationService;
-        this.mailService = mailService;
     }
 
     /**
@@ -63,8 +59,7 @@ public class AccountResource {
         if (!checkPasswordLength(managedUserDTO.getPassword())) {
             throw new InvalidPasswordException();
         }
-        UserEntity userEntity = userApplicationService.registerUser(managedUserDTO, managedUserDTO.getPassword());
-        mailService.sendActivationEmail(userEntity);
+        userApplicationService.registerUser(managedUserDTO, managedUserDTO.getPassword());
     }
 
     /**
@@ -157,10 +152,7 @@ public class AccountResource {
      */
     @PostMapping(path = "/account/reset-password/init")
     public void requestPasswordReset(@RequestBody String mail) {
-        Optional<UserEntity> user = userApplicationService.requestPasswordReset(mail);
-        if (user.isPresent()) {
-            mailService.sendPasswordResetMail(user.get());
-        } else {
+        if (userApplicationService.requestPasswordReset(mail).isEmpty()) {
             // Pretend the request has been successful to prevent checking which emails really exist
             // but log that an invalid attempt has been made
             log.warn("Password reset requested for non existing mail");
@@ -0,0 +1,82 @@
+package io.github.jhipster.user.infrastructure.primary.rest;
+
+import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes a header line then one line per user, in RFC 4180 CSV. Authorities are separated by {@code |}.
+ */
+class CsvUserExportWriter implements UserExportWriter {
+
+    private static final String HEADER =
+        "id,login,firstName,lastName,email,imageUrl,activated,langKey,createdBy,createdDate,lastModifiedBy,lastModifiedDate,authorities";
+
+    private final Writer writer;
+
+    private boolean headerWritten;
+
+    CsvUserExportWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void accept(UserDTO user) {
+        try {
+            writeHeader();
+            writer.write(
+                Stream
+                    .of(
+                        user.getId(),
+                        user.getLogin(),
+                        user.getFirstName(),
+                        user.getLastName(),
+                        user.getEmail(),
+                        user.getImageUrl(),
+                        user.isActivated(),
+                        user.getLangKey(),
+                        user.getCreatedBy(),
+                        user.getCreatedDate(),
+                        user.getLastModifiedBy(),
+                        user.getLastModifiedDate(),
+                        user.getAuthorities() == null ? null : user.getAuthorities().stream().sorted().collect(Collectors.joining("|"))
+                    )
+                    .map(CsvUserExportWriter::escape)
+                    .collect(Collectors.joining(","))
+            );
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeHeader();
+        writer.flush();
+    }
+
+    private void writeHeader() throws IOException {
+        if (!headerWritten) {
+            writer.write(HEADER);
+            writer.write("\r\n");
+            headerWritten = true;
+        }
+    }
+
+    private static String escape(Object value) {
+        String text = Objects.toString(value, "");
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
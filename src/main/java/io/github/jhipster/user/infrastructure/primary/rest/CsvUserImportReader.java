@@ -0,0 +1,120 @@
+package io.github.jhipster.user.infrastructure.primary.rest;
+
+import io.github.jhipster.user.application.UserImportRow;
+import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Reads users from RFC 4180 CSV with a header line, lazily, as written by {@link CsvUserExportWriter}.
+ * <p>
+ * Only the {@code login}, {@code firstName}, {@code lastName}, {@code email}, {@code imageUrl}, {@code langKey} and
+ * {@code authorities} (separated by {@code |}) columns are read. Quoted values cannot span several lines.
+ */
+final class CsvUserImportReader {
+
+    private CsvUserImportReader() {}
+
+    static Stream<UserImportRow> read(InputStream inputStream) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = readHeader(reader);
+        AtomicLong lineNumber = new AtomicLong(1);
+        return reader.lines().map(line -> parse(lineNumber.incrementAndGet(), line, columns)).filter(Objects::nonNull);
+    }
+
+    private static Map<String, Integer> readHeader(BufferedReader reader) {
+        try {
+            String header = reader.readLine();
+            Map<String, Integer> columns = new HashMap<>();
+            if (header != null) {
+                List<String> names = split(header);
+                for (int i = 0; i < names.size(); i++) {
+                    columns.put(names.get(i).trim(), i);
+                }
+            }
+            return columns;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static UserImportRow parse(long lineNumber, String line, Map<String, Integer> columns) {
+        if (line.isBlank()) {
+            return null;
+        }
+        if (!columns.containsKey("login")) {
+            return UserImportRow.unreadable(lineNumber, "Missing login column");
+        }
+        List<String> values;
+        try {
+            values = split(line);
+        } catch (IllegalArgumentException e) {
+            return UserImportRow.unreadable(lineNumber, e.getMessage());
+        }
+        if (values.size() != columns.size()) {
+            return UserImportRow.unreadable(lineNumber, "Expected " + columns.size() + " values but got " + values.size());
+        }
+        UserDTO user = new UserDTO();
+        user.setLogin(value(values, columns, "login"));
+        user.setFirstName(value(values, columns, "firstName"));
+        user.setLastName(value(values, columns, "lastName"));
+        user.setEmail(value(values, columns, "email"));
+        user.setImageUrl(value(values, columns, "imageUrl"));
+        user.setLangKey(value(values, columns, "langKey"));
+        String authorities = value(values, columns, "authorities");
+        user.setAuthorities(authorities == null ? new HashSet<>() : new HashSet<>(Arrays.asList(authorities.split("\\|"))));
+        return UserImportRow.of(lineNumber, user);
+    }
+
+    private static String value(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || values.get(index).isEmpty()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    private static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char character = line.charAt(i);
+            if (quoted) {
+                if (character != '"') {
+                    value.append(character);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (character == '"') {
+                quoted = true;
+            } else if (character == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(character);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
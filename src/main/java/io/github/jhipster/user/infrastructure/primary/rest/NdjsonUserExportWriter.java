@@ -0,0 +1,44 @@
+package io.github.jhipster.user.infrastructure.primary.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes one JSON object per line, through a single streaming {@link JsonGenerator}.
+ * <p>
+ * The generator is not flushed after each user, so the response is sent in full buffers.
+ */
+class NdjsonUserExportWriter implements UserExportWriter {
+
+    private final ObjectWriter objectWriter;
+
+    private final JsonGenerator generator;
+
+    NdjsonUserExportWriter(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+        this.objectWriter = objectMapper.writerFor(UserDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(outputStream).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // values are separated by the new lines written after each user
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void accept(UserDTO user) {
+        try {
+            objectWriter.writeValue(generator, user);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.jhipster.user.infrastructure.primary.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.jhipster.user.application.UserImportRow;
+import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Reads one JSON user per line, lazily. Blank lines are skipped.
+ */
+final class NdjsonUserImportReader {
+
+    private NdjsonUserImportReader() {}
+
+    static Stream<UserImportRow> read(InputStream inputStream, ObjectMapper objectMapper) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        AtomicLong lineNumber = new AtomicLong();
+        return reader.lines().map(line -> parse(lineNumber.incrementAndGet(), line, objectMapper)).filter(Objects::nonNull);
+    }
+
+    private static UserImportRow parse(long lineNumber, String line, ObjectMapper objectMapper) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return UserImportRow.of(lineNumber, objectMapper.readValue(line, UserDTO.class));
+        } catch (JsonProcessingException e) {
+            return UserImportRow.unreadable(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+}
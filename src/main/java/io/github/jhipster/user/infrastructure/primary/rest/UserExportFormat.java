@@ -0,0 +1,64 @@
+package io.github.jhipster.user.infrastructure.primary.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.jhipster.user.application.UserImportRow;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Formats of the user export and import.
+ */
+enum UserExportFormat {
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        UserExportWriter open(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+            return new NdjsonUserExportWriter(outputStream, objectMapper);
+        }
+
+        @Override
+        Stream<UserImportRow> read(InputStream inputStream, ObjectMapper objectMapper) {
+            return NdjsonUserImportReader.read(inputStream, objectMapper);
+        }
+    },
+    CSV("text/csv", "csv") {
+        @Override
+        UserExportWriter open(OutputStream outputStream, ObjectMapper objectMapper) {
+            return new CsvUserExportWriter(outputStream);
+        }
+
+        @Override
+        Stream<UserImportRow> read(InputStream inputStream, ObjectMapper objectMapper) {
+            return CsvUserImportReader.read(inputStream);
+        }
+    };
+
+    private final String contentType;
+
+    private final String extension;
+
+    UserExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    String getContentType() {
+        return contentType;
+    }
+
+    String getExtension() {
+        return extension;
+    }
+
+    abstract UserExportWriter open(OutputStream outputStream, ObjectMapper objectMapper) throws IOException;
+
+    abstract Stream<UserImportRow> read(InputStream inputStream, ObjectMapper objectMapper);
+
+    static Optional<UserExportFormat> of(String format) {
+        return Arrays.stream(values()).filter(value -> value.extension.equals(format.toLowerCase(Locale.ENGLISH))).findFirst();
+    }
+}
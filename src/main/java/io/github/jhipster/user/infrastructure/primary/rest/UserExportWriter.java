@@ -0,0 +1,12 @@
+package io.github.jhipster.user.infrastructure.primary.rest;
+
+import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
+import java.io.Closeable;
+import java.util.function.Consumer;
+
+/**
+ * Writes exported users to an output stream, one at a time.
+ * <p>
+ * {@link java.io.IOException}s thrown while writing a user are rethrown as {@link java.io.UncheckedIOException}s.
+ */
+interface UserExportWriter extends Consumer<UserDTO>, Closeable {}
@@ -1,19 +1,29 @@
 package io.github.jhipster.user.infrastructure.primary.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.jhipster.common.domain.AuthoritiesConstants;
 import io.github.jhipster.common.domain.Constants;
 import io.github.jhipster.common.infrastructure.primary.BadRequestAlertException;
 import io.github.jhipster.user.application.UserApplicationService;
+import io.github.jhipster.user.application.UserCursor;
+import io.github.jhipster.user.application.UserImportReport;
+import io.github.jhipster.user.application.UserImportRow;
+import io.github.jhipster.user.application.UserImporter;
 import io.github.jhipster.user.application.error.EmailAlreadyUsedException;
 import io.github.jhipster.user.application.error.LoginAlreadyUsedException;
 import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
 import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
 import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
-import io.github.jhipster.user.infrastructure.secondary.smtp.MailService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.Collections;
+import java.util.stream.Stream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Pattern;
 import org.slf4j.Logger;
@@ -21,6 +31,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -73,12 +84,20 @@ public class UserResource {
 
     private final UserRepository userRepository;
 
-    private final MailService mailService;
+    private final ObjectMapper objectMapper;
 
-    public UserResource(UserApplicationService userApplicationService, UserRepository userRepository, MailService mailService) {
+    private final UserImporter userImporter;
+
+    public UserResource(
+        UserApplicationService userApplicationService,
+        UserRepository userRepository,
+        ObjectMapper objectMapper,
+        UserImporter userImporter
+    ) {
         this.userApplicationService = userApplicationService;
         this.userRepository = userRepository;
-        this.mailService = mailService;
+        this.objectMapper = objectMapper;
+        this.userImporter = userImporter;
     }
 
     /**
@@ -107,7 +126,6 @@ public class UserResource {
             throw new EmailAlreadyUsedException();
         } else {
             UserEntity newUserEntity = userApplicationService.createUser(userDTO);
-            mailService.sendCreationEmail(newUserEntity);
             return ResponseEntity
                 .created(new URI("/api/users/" + newUserEntity.getLogin()))
                 .headers(
@@ -151,25 +169,126 @@ public class UserResource {
 
     /**
      * {@code GET /users} : get all users.
+     * <p>
+     * With a {@code cursor} parameter (empty for the first page), users are paginated by keyset on the sort property,
+     * which must be {@code id}, {@code login} or {@code email}, and the id: the {@code Link} header holds the URL of the next page, if any, and the total count is only computed
+     * when {@code count} is true.
      *
      * @param pageable the pagination information.
+     * @param cursor the position returned with the previous page, for keyset pagination.
+     * @param count whether to send the total number of users in the {@code X-Total-Count} header, for keyset pagination.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
      */
     @GetMapping("/users")
-    public ResponseEntity<List<UserDTO>> getAllUsers(Pageable pageable) {
+    public ResponseEntity<List<UserDTO>> getAllUsers(
+        Pageable pageable,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "true") boolean count
+    ) {
         if (!onlyContainsAllowedProperties(pageable)) {
             return ResponseEntity.badRequest().build();
         }
+        if (cursor != null) {
+            return getAllUsersAfter(pageable, cursor, count);
+        }
 
         final Page<UserDTO> page = userApplicationService.getAllManagedUsers(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    private ResponseEntity<List<UserDTO>> getAllUsersAfter(Pageable pageable, String cursor, boolean count) {
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.size() > 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        Sort.Order order = orders.isEmpty() ? Sort.Order.asc("id") : orders.get(0);
+        if (!UserCursor.supports(order.getProperty())) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<UserCursor> position = cursor.isEmpty()
+            ? Optional.of(UserCursor.first(order.getProperty(), order.getDirection()))
+            : UserCursor.decode(cursor).filter(decoded -> isSameOrder(decoded, order));
+        if (position.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        final Slice<UserDTO> slice = userApplicationService.getAllManagedUsers(position.get(), pageable.getPageSize());
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext()) {
+            UserCursor next = position.get().after(slice.getContent().get(slice.getNumberOfElements() - 1));
+            String link = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("cursor", next.encode()).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        if (count) {
+            headers.add("X-Total-Count", Long.toString(userApplicationService.countManagedUsers()));
+        }
+        return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
+    }
+
+    private static boolean isSameOrder(UserCursor cursor, Sort.Order order) {
+        return cursor.getProperty().equals(order.getProperty()) && cursor.getDirection() == order.getDirection();
+    }
+
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
         return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
     }
 
+    /**
+     * {@code GET /export/users} : stream all users, without pagination.
+     * <p>
+     * Users are read from a single read-only transaction and written as they are read, so memory does not grow with
+     * the number of users.
+     *
+     * @param format {@code ndjson} (one JSON object per line) or {@code csv}.
+     * @param response the response the users are written to.
+     * @throws IOException if the users cannot be written.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/export/users")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        log.debug("REST request to export Users as {}", format);
+        UserExportFormat exportFormat = UserExportFormat
+            .of(format)
+            .orElseThrow(() -> new BadRequestAlertException("Unsupported export format", "userManagement", "exportformat"));
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + exportFormat.getExtension() + "\"");
+        try (UserExportWriter writer = exportFormat.open(response.getOutputStream(), objectMapper)) {
+            userApplicationService.exportManagedUsers(writer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * {@code POST /import/users} : create users in bulk.
+     * <p>
+     * The request body is read as it is imported. Users are created activated, with a reset key and without sending
+     * any email.
+     *
+     * @param format {@code ndjson} (one JSON object per line) or {@code csv} (with a header line).
+     * @param request the request holding the users.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each row.
+     * @throws IOException if the request body cannot be read.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @PostMapping("/import/users")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<UserImportReport> importUsers(@RequestParam(defaultValue = "ndjson") String format, HttpServletRequest request)
+        throws IOException {
+        log.debug("REST request to import Users as {}", format);
+        UserExportFormat importFormat = UserExportFormat
+            .of(format)
+            .orElseThrow(() -> new BadRequestAlertException("Unsupported import format", "userManagement", "importformat"));
+        try (Stream<UserImportRow> rows = importFormat.read(request.getInputStream(), objectMapper)) {
+            return ResponseEntity.ok(userImporter.importUsers(rows));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     /**
      * Gets a list of all roles.
      * @return a string list of all roles.
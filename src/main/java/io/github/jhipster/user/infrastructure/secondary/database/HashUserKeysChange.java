@@ -0,0 +1,75 @@
+package io.github.jhipster.user.infrastructure.secondary.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+/**
+ * Liquibase change replacing the activation and reset keys already sent by their {@link UserKeyHash}, so that they
+ * remain valid once the keys are looked up by digest.
+ * <p>
+ * The digest is computed in Java rather than in SQL, so that the migration behaves the same on every database.
+ */
+public class HashUserKeysChange implements CustomTaskChange {
+
+    private static final String SELECT = "select id, activation_key, reset_key from jhi_user where activation_key is not null or reset_key is not null";
+
+    private static final String UPDATE = "update jhi_user set activation_key = ?, reset_key = ? where id = ?";
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try (
+            Statement select = connection.createStatement();
+            ResultSet keys = select.executeQuery(SELECT);
+            PreparedStatement update = connection.prepareStatement(UPDATE)
+        ) {
+            int pending = 0;
+            while (keys.next()) {
+                update.setString(1, hash(keys.getString("activation_key")));
+                update.setString(2, hash(keys.getString("reset_key")));
+                update.setLong(3, keys.getLong("id"));
+                update.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new CustomChangeException("Could not hash the user keys", e);
+        }
+    }
+
+    private static String hash(String key) {
+        return key == null ? null : UserKeyHash.of(key);
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Activation and reset keys hashed";
+    }
+
+    @Override
+    public void setUp() {}
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {}
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
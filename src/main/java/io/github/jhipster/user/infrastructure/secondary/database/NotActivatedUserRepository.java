@@ -0,0 +1,19 @@
+package io.github.jhipster.user.infrastructure.secondary.database;
+
+import java.util.Collection;
+
+/**
+ * Bulk deletes of the {@link UserEntity} users who are not activated that cannot be written in JPQL.
+ */
+public interface NotActivatedUserRepository {
+    /**
+     * Delete the authorities of the users who are not activated among the given ones.
+     * <p>
+     * The delete is declared to affect the {@link UserEntity} only, so that Hibernate invalidates its second-level cache
+     * regions instead of all of them.
+     *
+     * @param ids the ids of the users.
+     * @return the number of deleted authorities.
+     */
+    int deleteNotActivatedAuthoritiesByUserIdIn(Collection<Long> ids);
+}
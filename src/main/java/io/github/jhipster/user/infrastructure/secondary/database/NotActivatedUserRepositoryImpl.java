@@ -0,0 +1,25 @@
+package io.github.jhipster.user.infrastructure.secondary.database;
+
+import java.util.Collection;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+class NotActivatedUserRepositoryImpl implements NotActivatedUserRepository {
+
+    private static final String DELETE_AUTHORITIES =
+        "delete from jhi_user_authority where user_id in (select id from jhi_user where id in (:ids) and activated = false)";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public int deleteNotActivatedAuthoritiesByUserIdIn(Collection<Long> ids) {
+        return em
+            .createNativeQuery(DELETE_AUTHORITIES)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(UserEntity.class)
+            .setParameter("ids", ids)
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,10 @@
+package io.github.jhipster.user.infrastructure.secondary.database;
+
+/**
+ * Projection of a row of the {@code jhi_user_authority} join table.
+ */
+public interface UserAuthority {
+    Long getUserId();
+
+    String getAuthority();
+}
@@ -41,8 +41,8 @@ public class UserEntity extends AbstractAuditingEntity implements Serializable {
 
     @JsonIgnore
     @NotNull
-    @Size(min = 60, max = 60)
-    @Column(name = "password_hash", length = 60, nullable = false)
+    @Size(min = 60, max = 128)
+    @Column(name = "password_hash", length = 128, nullable = false)
     private String password;
 
     @Size(max = 50)
@@ -70,13 +70,21 @@ public class UserEntity extends AbstractAuditingEntity implements Serializable {
     @Column(name = "image_url", length = 256)
     private String imageUrl;
 
-    @Size(max = 20)
-    @Column(name = "activation_key", length = 20)
+    @Size(max = 64)
+    @Column(name = "activation_key", length = 64)
+    @JsonIgnore
+    private String activationKeyHash;
+
+    @Transient
     @JsonIgnore
     private String activationKey;
 
-    @Size(max = 20)
-    @Column(name = "reset_key", length = 20)
+    @Size(max = 64)
+    @Column(name = "reset_key", length = 64)
+    @JsonIgnore
+    private String resetKeyHash;
+
+    @Transient
     @JsonIgnore
     private String resetKey;
 
@@ -159,20 +167,36 @@ public class UserEntity extends AbstractAuditingEntity implements Serializable {
         this.activated = activated;
     }
 
+    /**
+     * Only the hash of the activation key is stored, so the key itself is only known on the instance it was set on.
+     */
     public String getActivationKey() {
         return activationKey;
     }
 
     public void setActivationKey(String activationKey) {
         this.activationKey = activationKey;
+        this.activationKeyHash = activationKey == null ? null : UserKeyHash.of(activationKey);
     }
 
+    public String getActivationKeyHash() {
+        return activationKeyHash;
+    }
+
+    /**
+     * Only the hash of the reset key is stored, so the key itself is only known on the instance it was set on.
+     */
     public String getResetKey() {
         return resetKey;
     }
 
     public void setResetKey(String resetKey) {
         this.resetKey = resetKey;
+        this.resetKeyHash = resetKey == null ? null : UserKeyHash.of(resetKey);
+    }
+
+    public String getResetKeyHash() {
+        return resetKeyHash;
     }
 
     public Instant getResetDate() {
@@ -226,7 +250,6 @@ public class UserEntity extends AbstractAuditingEntity implements Serializable {
             ", imageUrl='" + imageUrl + '\'' +
             ", activated='" + activated + '\'' +
             ", langKey='" + langKey + '\'' +
-            ", activationKey='" + activationKey + '\'' +
             "}";
     }
 }
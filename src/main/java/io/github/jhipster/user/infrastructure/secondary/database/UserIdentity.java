@@ -0,0 +1,12 @@
+package io.github.jhipster.user.infrastructure.secondary.database;
+
+/**
+ * Projection of the keys of a {@link UserEntity}, enough to evict its cached data.
+ */
+public interface UserIdentity {
+    Long getId();
+
+    String getLogin();
+
+    String getEmail();
+}
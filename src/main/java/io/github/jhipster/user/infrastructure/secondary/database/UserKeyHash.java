@@ -0,0 +1,36 @@
+package io.github.jhipster.user.infrastructure.secondary.database;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hex-encoded SHA-256 digest of the activation and reset keys, stored and looked up instead of the keys themselves.
+ * <p>
+ * The keys are random and short-lived, so an unsalted digest keeps a database dump from being used to activate accounts
+ * or reset passwords while still allowing an indexed equality lookup.
+ */
+public final class UserKeyHash {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private UserKeyHash() {}
+
+    public static String of(String key) {
+        byte[] digest = sha256().digest(key.getBytes(StandardCharsets.UTF_8));
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX[digest[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.jhipster.user.infrastructure.secondary.database;
+
+import java.util.List;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Keyset (seek) pagination of the {@link UserEntity} entity, without offsets nor counts.
+ */
+public interface UserKeysetRepository {
+    /**
+     * Get the users following a position, ordered by a property then by id.
+     * <p>
+     * Only the indexed properties are supported: {@code id}, {@code login} and {@code email}. When ordered by email,
+     * the users without email follow the other ones, in both directions.
+     *
+     * @param excludedLogin the login of the user to leave out.
+     * @param property the property to order by: id, login or email.
+     * @param direction the direction of both the property and the id.
+     * @param lastValue the value of the property at the last position, ignored when {@code lastId} is null; a null email
+     * is a position among the users without email.
+     * @param lastId the id at the last position, or null to start from the first user.
+     * @param limit the maximum number of users.
+     * @return the users following the position.
+     */
+    List<UserEntity> findAllByLoginNotAfter(
+        String excludedLogin,
+        String property,
+        Sort.Direction direction,
+        Object lastValue,
+        Long lastId,
+        int limit
+    );
+}
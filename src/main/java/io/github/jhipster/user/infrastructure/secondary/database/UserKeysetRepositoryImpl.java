@@ -0,0 +1,98 @@
+package io.github.jhipster.user.infrastructure.secondary.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+
+class UserKeysetRepositoryImpl implements UserKeysetRepository {
+
+    private static final String SELECT = "select user from UserEntity user where user.login <> :excludedLogin";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<UserEntity> findAllByLoginNotAfter(
+        String excludedLogin,
+        String property,
+        Sort.Direction direction,
+        Object lastValue,
+        Long lastId,
+        int limit
+    ) {
+        switch (property) {
+            case "id":
+                return findAllOrderedById(excludedLogin, "", direction, lastId, limit);
+            case "login":
+                return findAllOrderedBy(excludedLogin, "login", "", direction, lastValue, lastId, limit);
+            case "email":
+                return findAllOrderedByEmail(excludedLogin, direction, lastValue, lastId, limit);
+            default:
+                throw new IllegalArgumentException("Users cannot be paginated by keyset on " + property);
+        }
+    }
+
+    /**
+     * Users with an email come first, ordered by email, then the users without email, ordered by id.
+     */
+    private List<UserEntity> findAllOrderedByEmail(String excludedLogin, Sort.Direction direction, Object lastValue, Long lastId, int limit) {
+        List<UserEntity> users = new ArrayList<>();
+        if (lastId == null || lastValue != null) {
+            users.addAll(findAllOrderedBy(excludedLogin, "email", " and user.email is not null", direction, lastValue, lastId, limit));
+            lastId = null;
+        }
+        if (users.size() < limit) {
+            users.addAll(findAllOrderedById(excludedLogin, " and user.email is null", direction, lastId, limit - users.size()));
+        }
+        return users;
+    }
+
+    private List<UserEntity> findAllOrderedById(String excludedLogin, String filter, Sort.Direction direction, Long lastId, int limit) {
+        String order = direction.isAscending() ? "asc" : "desc";
+        StringBuilder jpql = new StringBuilder(SELECT).append(filter);
+        if (lastId != null) {
+            jpql.append(" and user.id ").append(direction.isAscending() ? ">" : "<").append(" :lastId");
+        }
+        jpql.append(" order by user.id ").append(order);
+        TypedQuery<UserEntity> query = em.createQuery(jpql.toString(), UserEntity.class).setParameter("excludedLogin", excludedLogin);
+        if (lastId != null) {
+            query.setParameter("lastId", lastId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Order by a unique, non-null and indexed property, then by id. The position is compared as a row value, which
+     * Hibernate sends as is to the databases supporting it and expands into {@code key > ? or (key = ? and id > ?)} for
+     * the other ones.
+     */
+    private List<UserEntity> findAllOrderedBy(
+        String excludedLogin,
+        String property,
+        String filter,
+        Sort.Direction direction,
+        Object lastValue,
+        Long lastId,
+        int limit
+    ) {
+        String order = direction.isAscending() ? "asc" : "desc";
+        StringBuilder jpql = new StringBuilder(SELECT).append(filter);
+        if (lastId != null) {
+            jpql
+                .append(" and (user.")
+                .append(property)
+                .append(", user.id) ")
+                .append(direction.isAscending() ? ">" : "<")
+                .append(" (:lastValue, :lastId)");
+        }
+        jpql.append(" order by user.").append(property).append(' ').append(order).append(", user.id ").append(order);
+        TypedQuery<UserEntity> query = em.createQuery(jpql.toString(), UserEntity.class).setParameter("excludedLogin", excludedLogin);
+        if (lastId != null) {
+            query.setParameter("lastValue", lastValue).setParameter("lastId", lastId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -1,41 +1,96 @@
 package io.github.jhipster.user.infrastructure.secondary.database;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import org.springframework.cache.annotation.Cacheable;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data JPA repository for the {@link UserEntity} entity.
  */
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
-    String USERS_BY_LOGIN_CACHE = "usersByLogin";
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserKeysetRepository, NotActivatedUserRepository {
+    Optional<UserEntity> findOneByActivationKeyHash(String activationKeyHash);
 
-    String USERS_BY_EMAIL_CACHE = "usersByEmail";
+    List<UserEntity> findAllByActivatedIsFalseAndActivationKeyHashIsNotNullAndCreatedDateBefore(Instant dateTime);
 
-    Optional<UserEntity> findOneByActivationKey(String activationKey);
+    @Query(
+        "select user.id as id, user.login as login, user.email as email from UserEntity user " +
+        "where user.activated = false and user.activationKeyHash is not null and user.createdDate < :createdBefore order by user.id"
+    )
+    List<UserIdentity> findAllNotActivatedCreatedBefore(@Param("createdBefore") Instant createdBefore, Pageable pageable);
 
-    List<UserEntity> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime);
+    @Modifying
+    @Query("delete from UserEntity user where user.id in :ids and user.activated = false")
+    int deleteNotActivatedByIdIn(@Param("ids") Collection<Long> ids);
 
-    Optional<UserEntity> findOneByResetKey(String resetKey);
+    Optional<UserEntity> findOneByResetKeyHashAndResetDateAfter(String resetKeyHash, Instant resetDate);
 
     Optional<UserEntity> findOneByEmailIgnoreCase(String email);
 
+    @Query("select user from UserEntity user where user.login = :login or user.email = :email")
+    List<UserEntity> findAllByLoginOrEmail(@Param("login") String login, @Param("email") String email);
+
     Optional<UserEntity> findOneByLogin(String login);
 
     @EntityGraph(attributePaths = "authorities")
-    @Cacheable(cacheNames = USERS_BY_LOGIN_CACHE)
     Optional<UserEntity> findOneWithAuthoritiesByLogin(String login);
 
-    @EntityGraph(attributePaths = "authorities")
-    @Cacheable(cacheNames = USERS_BY_EMAIL_CACHE)
-    Optional<UserEntity> findOneWithAuthoritiesByEmailIgnoreCase(String email);
+    @Query(
+        "select distinct user from UserEntity user left join fetch user.authorities " +
+        "where user.login = :principal or user.email = :principal"
+    )
+    List<UserEntity> findAllWithAuthoritiesByLoginOrEmail(@Param("principal") String principal);
+
+    @Query("select distinct user from UserEntity user left join fetch user.authorities where user.login in :logins")
+    List<UserEntity> findAllWithAuthoritiesByLoginIn(@Param("logins") Collection<String> logins);
 
     Page<UserEntity> findAllByLoginNot(Pageable pageable, String login);
+
+    @Query("select user.login from UserEntity user where user.login in :logins")
+    List<String> findAllLoginsByLoginIn(@Param("logins") Collection<String> logins);
+
+    @Query("select user.email from UserEntity user where user.email in :emails")
+    List<String> findAllEmailsByEmailIn(@Param("emails") Collection<String> emails);
+
+    @Query(
+        "select user.id as userId, authority.name as authority from UserEntity user join user.authorities authority " +
+        "where user.id in :ids"
+    )
+    List<UserAuthority> findAllAuthoritiesByUserIdIn(@Param("ids") Collection<Long> ids);
+
+    long countByLoginNot(String login);
+
+    @QueryHints(
+        {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+        }
+    )
+    @Query("select user from UserEntity user where user.login <> :login order by user.id")
+    Stream<UserEntity> streamAllByLoginNot(@Param("login") String login);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select user.login from UserEntity user")
+    Stream<String> streamAllLogins();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select user.email from UserEntity user where user.email is not null")
+    Stream<String> streamAllEmails();
 }
@@ -0,0 +1,194 @@
+package io.github.jhipster.user.infrastructure.secondary.invalidation;
+
+import io.github.jhipster.common.application.SchedulerLock;
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.user.application.UserCacheInvalidation;
+import io.github.jhipster.user.application.UserCacheInvalidationBus;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Invalidation bus backed by the {@code jhi_cache_invalidation} table, shared by all the instances.
+ * <p>
+ * Published invalidations are coalesced in memory and inserted in one JDBC batch every
+ * {@code application.cache.invalidation.flush-interval-ms}, and put back in the queue if the insert fails. Each instance
+ * polls the rows inserted by the other ones every {@code application.cache.invalidation.poll-interval-ms}, and rows
+ * older than the retention are purged by one instance.
+ * <p>
+ * Identifiers are allocated before commit, so a row can become visible after rows with greater identifiers. Polls
+ * therefore read the rows created since {@code application.cache.invalidation.poll-overlap-ms} before the newest row
+ * seen, and skip the identifiers already delivered.
+ * <p>
+ * Evictions are idempotent and the cache time-to-live remains the upper bound of staleness, should an instance miss
+ * a row.
+ */
+@Component
+@ConditionalOnProperty(name = "application.cache.invalidation.type", havingValue = "database")
+public class DatabaseUserCacheInvalidationBus implements UserCacheInvalidationBus {
+
+    private static final String INSERT =
+        "insert into jhi_cache_invalidation (node_id, user_id, login, email, created_date) values (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SINCE =
+        "select id, user_id, login, email, created_date from jhi_cache_invalidation where created_date > ? and node_id <> ? order by id";
+
+    private static final String DELETE_BEFORE = "delete from jhi_cache_invalidation where created_date < ?";
+
+    private final Logger log = LoggerFactory.getLogger(DatabaseUserCacheInvalidationBus.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final long retentionSeconds;
+
+    private final long pollOverlapMs;
+
+    private final Clock clock;
+
+    private final Map<UserCacheInvalidation, Boolean> pending = new ConcurrentHashMap<>();
+
+    private final List<Consumer<UserCacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creation dates of the delivered rows still inside the overlap window, by identifier. Only accessed by the poll.
+     */
+    private final Map<Long, Instant> delivered = new HashMap<>();
+
+    private volatile Instant lastSeen;
+
+    @Autowired
+    public DatabaseUserCacheInvalidationBus(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this(jdbcTemplate, transactionManager, applicationProperties, Clock.systemUTC());
+    }
+
+    DatabaseUserCacheInvalidationBus(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        Clock clock
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionSeconds = applicationProperties.getCache().getInvalidation().getRetentionSeconds();
+        this.pollOverlapMs = applicationProperties.getCache().getInvalidation().getPollOverlapMs();
+        this.clock = clock;
+    }
+
+    @Override
+    public void publish(UserCacheInvalidation invalidation) {
+        pending.put(invalidation, Boolean.TRUE);
+    }
+
+    @Override
+    public void subscribe(Consumer<UserCacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Scheduled(fixedDelayString = "${application.cache.invalidation.flush-interval-ms:200}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<UserCacheInvalidation> invalidations = new ArrayList<>(pending.keySet());
+        invalidations.forEach(pending::remove);
+        Timestamp now = Timestamp.from(clock.instant());
+        List<Object[]> rows = new ArrayList<>(invalidations.size());
+        for (UserCacheInvalidation invalidation : invalidations) {
+            rows.add(new Object[] { nodeId, invalidation.getUserId(), invalidation.getLogin(), invalidation.getEmail(), now });
+        }
+        try {
+            transactionTemplate.executeWithoutResult(
+                status ->
+                    jdbcTemplate.batchUpdate(
+                        INSERT,
+                        rows,
+                        new int[] { Types.VARCHAR, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP }
+                    )
+            );
+        } catch (DataAccessException | TransactionException e) {
+            invalidations.forEach(invalidation -> pending.putIfAbsent(invalidation, Boolean.TRUE));
+            log.warn("Could not publish {} user cache invalidations, retrying at the next flush: {}", invalidations.size(), e.getMessage());
+            return;
+        }
+        log.debug("Published {} user cache invalidations", invalidations.size());
+    }
+
+    @Scheduled(fixedDelayString = "${application.cache.invalidation.poll-interval-ms:1000}")
+    public void poll() {
+        if (lastSeen == null) {
+            lastSeen = clock.instant();
+            return;
+        }
+        Instant since = lastSeen.minusMillis(pollOverlapMs);
+        delivered.values().removeIf(createdDate -> !createdDate.isAfter(since));
+        Set<UserCacheInvalidation> received = new LinkedHashSet<>();
+        Instant[] newest = { lastSeen };
+        transactionTemplate.executeWithoutResult(
+            status ->
+                jdbcTemplate.query(
+                    SELECT_SINCE,
+                    resultSet -> {
+                        Instant createdDate = resultSet.getTimestamp("created_date").toInstant();
+                        if (delivered.putIfAbsent(resultSet.getLong("id"), createdDate) != null) {
+                            return;
+                        }
+                        if (createdDate.isAfter(newest[0])) {
+                            newest[0] = createdDate;
+                        }
+                        long userId = resultSet.getLong("user_id");
+                        received.add(
+                            new UserCacheInvalidation(
+                                resultSet.wasNull() ? null : userId,
+                                resultSet.getString("login"),
+                                resultSet.getString("email")
+                            )
+                        );
+                    },
+                    Timestamp.from(since),
+                    nodeId
+                )
+        );
+        lastSeen = newest[0];
+        if (!received.isEmpty()) {
+            log.debug("Received {} user cache invalidations", received.size());
+            received.forEach(invalidation -> subscribers.forEach(subscriber -> subscriber.accept(invalidation)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.cache.invalidation.purge-interval-ms:60000}")
+    @SchedulerLock(name = "purgeCacheInvalidations", leaseSeconds = 300, minHoldSeconds = 10)
+    public void purge() {
+        Instant limit = clock.instant().minusSeconds(retentionSeconds);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(DELETE_BEFORE, Timestamp.from(limit)));
+    }
+}
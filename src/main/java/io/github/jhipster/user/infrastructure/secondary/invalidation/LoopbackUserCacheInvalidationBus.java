@@ -0,0 +1,31 @@
+package io.github.jhipster.user.infrastructure.secondary.invalidation;
+
+import io.github.jhipster.user.application.UserCacheInvalidation;
+import io.github.jhipster.user.application.UserCacheInvalidationBus;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-JVM invalidation bus, delivering every invalidation to the subscribers of this instance.
+ * <p>
+ * Used by single-instance deployments and by tests.
+ */
+@Component
+@ConditionalOnProperty(name = "application.cache.invalidation.type", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackUserCacheInvalidationBus implements UserCacheInvalidationBus {
+
+    private final List<Consumer<UserCacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(UserCacheInvalidation invalidation) {
+        subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<UserCacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.jhipster.user.infrastructure.secondary.smtp;
+
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encrypts the activation and reset keys of the emails queued in the {@link MailOutbox} with AES-GCM, so that the
+ * outbox table never holds a key which could activate an account or reset a password.
+ */
+@Component
+public class MailKeyCipher {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    private static final int IV_LENGTH = 12;
+
+    private static final int TAG_LENGTH = 128;
+
+    private final SecretKey secretKey;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public MailKeyCipher(ApplicationProperties applicationProperties) {
+        this(applicationProperties.getMail().getOutbox().getBase64Secret());
+    }
+
+    MailKeyCipher(String base64Secret) {
+        if (base64Secret == null || base64Secret.isBlank()) {
+            throw new IllegalStateException(
+                "application.mail.outbox.base64-secret must be set, for example with the APPLICATION_MAIL_OUTBOX_BASE64SECRET environment variable"
+            );
+        }
+        byte[] secret = Base64.getDecoder().decode(base64Secret);
+        if (secret.length != 16 && secret.length != 24 && secret.length != 32) {
+            throw new IllegalStateException("application.mail.outbox.base64-secret must be a 16, 24 or 32 bytes key");
+        }
+        this.secretKey = new SecretKeySpec(secret, "AES");
+    }
+
+    String encrypt(String key) {
+        if (key == null) {
+            return null;
+        }
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(TAG_LENGTH, iv));
+            byte[] encrypted = cipher.doFinal(key.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(IV_LENGTH + encrypted.length).put(iv).put(encrypted).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt the key", e);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the key was not encrypted with the current secret.
+     */
+    String decrypt(String encryptedKey) {
+        if (encryptedKey == null) {
+            return null;
+        }
+        byte[] encrypted = Base64.getDecoder().decode(encryptedKey);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(TAG_LENGTH, encrypted, 0, IV_LENGTH));
+            return new String(cipher.doFinal(encrypted, IV_LENGTH, encrypted.length - IV_LENGTH), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Could not decrypt the key", e);
+        }
+    }
+}
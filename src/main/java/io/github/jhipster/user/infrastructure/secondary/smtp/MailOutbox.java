@@ -0,0 +1,171 @@
+package io.github.jhipster.user.infrastructure.secondary.smtp;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Durable queue of emails backed by the {@code jhi_mail_outbox} table.
+ * <p>
+ * Emails are inserted with the JDBC connection of the current transaction, so that they are only sent if the change
+ * they announce is committed, and survive a restart. Only the template, the user and the keys the email carries,
+ * encrypted by the {@link MailKeyCipher}, are stored: the email is rendered when it is sent, and the keys are removed
+ * from the emails given up as {@code DEAD}. The updates made by the dispatcher run in their own transactions, or join
+ * the current one.
+ */
+@Component
+public class MailOutbox {
+
+    public enum Status {
+        PENDING,
+        DEAD,
+    }
+
+    private static final String INSERT =
+        "insert into jhi_mail_outbox " +
+        "(user_id, template, title_key, activation_key, reset_key, status, attempts, next_attempt_at, created_date) " +
+        "values (?, ?, ?, ?, ?, 'PENDING', 0, ?, ?)";
+
+    private static final String SELECT_DUE =
+        "select id, user_id, template, title_key, activation_key, reset_key, attempts from jhi_mail_outbox " +
+        "where status = 'PENDING' and next_attempt_at <= ? order by next_attempt_at, id";
+
+    private static final String SELECT_DUE_ID = "select id from jhi_mail_outbox where status = 'PENDING' and next_attempt_at <= ?";
+
+    private static final String DELETE = "delete from jhi_mail_outbox where id = ?";
+
+    private static final String RETRY = "update jhi_mail_outbox set attempts = ?, next_attempt_at = ?, last_error = ? where id = ?";
+
+    private static final String KILL =
+        "update jhi_mail_outbox set status = 'DEAD', attempts = ?, last_error = ?, activation_key = null, reset_key = null where id = ?";
+
+    private static final String COUNT_BY_STATUS = "select status, count(*) from jhi_mail_outbox group by status";
+
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MailKeyCipher mailKeyCipher;
+
+    private final Clock clock;
+
+    @Autowired
+    public MailOutbox(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MailKeyCipher mailKeyCipher) {
+        this(jdbcTemplate, transactionManager, mailKeyCipher, Clock.systemUTC());
+    }
+
+    MailOutbox(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MailKeyCipher mailKeyCipher, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mailKeyCipher = mailKeyCipher;
+        this.clock = clock;
+    }
+
+    /**
+     * Queue the email of a template for a user.
+     *
+     * @param activationKey the activation key rendered in the email, if any.
+     * @param resetKey the reset key rendered in the email, if any.
+     */
+    public void enqueue(long userId, String template, String titleKey, String activationKey, String resetKey) {
+        Timestamp now = Timestamp.from(clock.instant());
+        jdbcTemplate.update(
+            INSERT,
+            userId,
+            template,
+            titleKey,
+            mailKeyCipher.encrypt(activationKey),
+            mailKeyCipher.encrypt(resetKey),
+            now,
+            now
+        );
+    }
+
+    /**
+     * @return true if at least one email is due, read from the {@code (status, next_attempt_at)} index.
+     */
+    boolean hasDue(Instant now) {
+        return !jdbcTemplate
+            .query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(SELECT_DUE_ID);
+                    statement.setTimestamp(1, Timestamp.from(now));
+                    statement.setMaxRows(1);
+                    return statement;
+                },
+                (resultSet, rowNum) -> resultSet.getLong(1)
+            )
+            .isEmpty();
+    }
+
+    List<OutboxMail> findDue(Instant now, int limit) {
+        return jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_DUE);
+                statement.setTimestamp(1, Timestamp.from(now));
+                statement.setMaxRows(limit);
+                return statement;
+            },
+            (resultSet, rowNum) ->
+                new OutboxMail(
+                    resultSet.getLong("id"),
+                    resultSet.getLong("user_id"),
+                    resultSet.getString("template"),
+                    resultSet.getString("title_key"),
+                    resultSet.getString("activation_key"),
+                    resultSet.getString("reset_key"),
+                    resultSet.getInt("attempts")
+                )
+        );
+    }
+
+    void delete(List<OutboxMail> mails) {
+        if (mails.isEmpty()) {
+            return;
+        }
+        List<Object[]> ids = mails.stream().map(mail -> new Object[] { mail.getId() }).collect(Collectors.toList());
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(DELETE, ids));
+    }
+
+    void retry(OutboxMail mail, Instant nextAttemptAt, String error) {
+        update(RETRY, mail.getAttempts() + 1, Timestamp.from(nextAttemptAt), truncate(error), mail.getId());
+    }
+
+    void kill(OutboxMail mail, String error) {
+        update(KILL, mail.getAttempts() + 1, truncate(error), mail.getId());
+    }
+
+    private void update(String sql, Object... arguments) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(sql, arguments));
+    }
+
+    Map<Status, Long> countByStatus() {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            counts.put(status, 0L);
+        }
+        jdbcTemplate.query(
+            COUNT_BY_STATUS,
+            resultSet -> {
+                counts.put(Status.valueOf(resultSet.getString(1)), resultSet.getLong(2));
+            }
+        );
+        return counts;
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,223 @@
+package io.github.jhipster.user.infrastructure.secondary.smtp;
+
+import io.github.jhipster.common.application.SchedulerLock;
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends the emails of the {@link MailOutbox}, on a single instance, when the {@link MailOutboxPoller} finds due ones.
+ * <p>
+ * Each poll renders and sends at most {@code application.mail.outbox.batch-size} due emails over one SMTP connection,
+ * which also bounds the sending rate. Sent emails are deleted, as are the emails of users deleted or without email since
+ * they were queued. Failed ones are retried with an exponential backoff, and kept with the {@code DEAD} status after
+ * {@code application.mail.outbox.max-attempts}.
+ */
+@Component
+public class MailOutboxDispatcher {
+
+    private static final String METRIC_NAME = "mail.outbox";
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    private final MailOutbox mailOutbox;
+
+    private final MailService mailService;
+
+    private final MailKeyCipher mailKeyCipher;
+
+    private final UserRepository userRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final ApplicationProperties.Mail.Outbox outbox;
+
+    private final Clock clock;
+
+    private final Counter sent;
+
+    private final Counter retried;
+
+    private final Counter dead;
+
+    private final Counter dropped;
+
+    private final Map<MailOutbox.Status, AtomicLong> sizes = new EnumMap<>(MailOutbox.Status.class);
+
+    @Autowired
+    public MailOutboxDispatcher(
+        MailOutbox mailOutbox,
+        MailService mailService,
+        MailKeyCipher mailKeyCipher,
+        UserRepository userRepository,
+        JavaMailSender javaMailSender,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this(
+            mailOutbox,
+            mailService,
+            mailKeyCipher,
+            userRepository,
+            javaMailSender,
+            applicationProperties,
+            meterRegistry,
+            Clock.systemUTC()
+        );
+    }
+
+    MailOutboxDispatcher(
+        MailOutbox mailOutbox,
+        MailService mailService,
+        MailKeyCipher mailKeyCipher,
+        UserRepository userRepository,
+        JavaMailSender javaMailSender,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.mailOutbox = mailOutbox;
+        this.mailService = mailService;
+        this.mailKeyCipher = mailKeyCipher;
+        this.userRepository = userRepository;
+        this.javaMailSender = javaMailSender;
+        this.outbox = applicationProperties.getMail().getOutbox();
+        this.clock = clock;
+        this.sent = Counter.builder(METRIC_NAME + ".messages").tag("result", "sent").register(meterRegistry);
+        this.retried = Counter.builder(METRIC_NAME + ".messages").tag("result", "retried").register(meterRegistry);
+        this.dead = Counter.builder(METRIC_NAME + ".messages").tag("result", "dead").register(meterRegistry);
+        this.dropped = Counter.builder(METRIC_NAME + ".messages").tag("result", "dropped").register(meterRegistry);
+        for (MailOutbox.Status status : MailOutbox.Status.values()) {
+            AtomicLong size = new AtomicLong();
+            sizes.put(status, size);
+            Gauge
+                .builder(METRIC_NAME + ".size", size, AtomicLong::get)
+                .tag("status", status.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Send a batch of due emails.
+     *
+     * @return the number of emails sent.
+     */
+    @SchedulerLock(name = "dispatchMails", leaseSeconds = 300)
+    public int dispatch() {
+        Instant now = clock.instant();
+        List<OutboxMail> mails = mailOutbox.findDue(now, outbox.getBatchSize());
+        if (mails.isEmpty()) {
+            return 0;
+        }
+        Map<Long, UserEntity> users = userRepository
+            .findAllById(mails.stream().map(OutboxMail::getUserId).collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+        Map<MimeMessage, OutboxMail> messages = new IdentityHashMap<>();
+        List<OutboxMail> recipientless = new ArrayList<>();
+        for (OutboxMail mail : mails) {
+            UserEntity userEntity = users.get(mail.getUserId());
+            if (userEntity == null || userEntity.getEmail() == null) {
+                log.debug("Dropping email {}, user {} was deleted or has no email", mail.getId(), mail.getUserId());
+                recipientless.add(mail);
+                continue;
+            }
+            try {
+                messages.put(createMessage(mail, userEntity), mail);
+            } catch (MessagingException | RuntimeException e) {
+                fail(mail, now, e);
+            }
+        }
+        List<OutboxMail> delivered = new ArrayList<>(messages.values());
+        for (Map.Entry<Object, Exception> failure : send(messages).entrySet()) {
+            OutboxMail mail = messages.get(failure.getKey());
+            if (mail != null) {
+                delivered.remove(mail);
+                fail(mail, now, failure.getValue());
+            }
+        }
+        List<OutboxMail> deleted = new ArrayList<>(delivered);
+        deleted.addAll(recipientless);
+        mailOutbox.delete(deleted);
+        sent.increment(delivered.size());
+        dropped.increment(recipientless.size());
+        mailOutbox.countByStatus().forEach((status, size) -> sizes.get(status).set(size));
+        log.debug("Sent {} of {} queued emails", delivered.size(), mails.size());
+        return delivered.size();
+    }
+
+    private Map<Object, Exception> send(Map<MimeMessage, OutboxMail> messages) {
+        if (messages.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            return Map.of();
+        } catch (MailSendException e) {
+            if (!e.getFailedMessages().isEmpty()) {
+                return e.getFailedMessages();
+            }
+            return failAll(messages, e);
+        } catch (MailException e) {
+            return failAll(messages, e);
+        }
+    }
+
+    private MimeMessage createMessage(OutboxMail mail, UserEntity userEntity) throws MessagingException {
+        return mailService.createMessageFromTemplate(
+            userEntity,
+            mail.getTemplate(),
+            mail.getTitleKey(),
+            mailKeyCipher.decrypt(mail.getEncryptedActivationKey()),
+            mailKeyCipher.decrypt(mail.getEncryptedResetKey())
+        );
+    }
+
+    private void fail(OutboxMail mail, Instant now, Exception e) {
+        int attempts = mail.getAttempts() + 1;
+        if (attempts >= outbox.getMaxAttempts()) {
+            log.warn("Giving up sending email {} to user {} after {} attempts", mail.getId(), mail.getUserId(), attempts, e);
+            mailOutbox.kill(mail, e.getMessage());
+            dead.increment();
+            return;
+        }
+        log.debug("Email {} to user {} could not be sent, will retry: {}", mail.getId(), mail.getUserId(), e.getMessage());
+        mailOutbox.retry(mail, now.plus(backoff(attempts)), e.getMessage());
+        retried.increment();
+    }
+
+    private Duration backoff(int attempts) {
+        long seconds = outbox.getInitialBackoffSeconds() << Math.min(attempts - 1, 30);
+        return Duration.ofSeconds(Math.min(seconds, outbox.getMaxBackoffSeconds()));
+    }
+
+    private static Map<Object, Exception> failAll(Map<MimeMessage, OutboxMail> messages, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.keySet().forEach(message -> failures.put(message, e));
+        return failures;
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.jhipster.user.infrastructure.secondary.smtp;
+
+import java.time.Clock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls the {@link MailOutbox} on every instance, and only calls the {@link MailOutboxDispatcher} when emails are due.
+ * <p>
+ * The dispatcher takes the {@code dispatchMails} lease, which is a write on {@code jhi_scheduled_lock}: checking for due
+ * emails first keeps an empty outbox down to one indexed read per instance and poll.
+ */
+@Component
+public class MailOutboxPoller {
+
+    private final MailOutbox mailOutbox;
+
+    private final MailOutboxDispatcher dispatcher;
+
+    private final Clock clock;
+
+    @Autowired
+    public MailOutboxPoller(MailOutbox mailOutbox, MailOutboxDispatcher dispatcher) {
+        this(mailOutbox, dispatcher, Clock.systemUTC());
+    }
+
+    MailOutboxPoller(MailOutbox mailOutbox, MailOutboxDispatcher dispatcher, Clock clock) {
+        this.mailOutbox = mailOutbox;
+        this.dispatcher = dispatcher;
+        this.clock = clock;
+    }
+
+    @Scheduled(
+        initialDelayString = "${application.mail.outbox.poll-interval-ms:1000}",
+        fixedDelayString = "${application.mail.outbox.poll-interval-ms:1000}"
+    )
+    public void poll() {
+        if (mailOutbox.hasDue(clock.instant())) {
+            dispatcher.dispatch();
+        }
+    }
+}
@@ -20,7 +20,8 @@ import tech.jhipster.config.JHipsterProperties;
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * Account emails are written to the {@link MailOutbox} within the current transaction, then rendered and sent by the
+ * {@link MailOutboxDispatcher}. {@link #sendEmail} still sends immediately, using the {@link Async} annotation.
  */
 @Service
 public class MailService {
@@ -31,6 +32,10 @@ public class MailService {
 
     private static final String BASE_URL = "baseUrl";
 
+    private static final String ACTIVATION_KEY = "activationKey";
+
+    private static final String RESET_KEY = "resetKey";
+
     private final JHipsterProperties jHipsterProperties;
 
     private final JavaMailSender javaMailSender;
@@ -39,16 +44,20 @@ public class MailService {
 
     private final SpringTemplateEngine templateEngine;
 
+    private final MailOutbox mailOutbox;
+
     public MailService(
         JHipsterProperties jHipsterProperties,
         JavaMailSender javaMailSender,
         MessageSource messageSource,
-        SpringTemplateEngine templateEngine
+        SpringTemplateEngine templateEngine,
+        MailOutbox mailOutbox
     ) {
         this.jHipsterProperties = jHipsterProperties;
         this.javaMailSender = javaMailSender;
         this.messageSource = messageSource;
         this.templateEngine = templateEngine;
+        this.mailOutbox = mailOutbox;
     }
 
     @Async
@@ -77,36 +86,58 @@ public class MailService {
         }
     }
 
-    @Async
     public void sendEmailFromTemplate(UserEntity userEntity, String templateName, String titleKey) {
         if (userEntity.getEmail() == null) {
             log.debug("Email doesn't exist for user '{}'", userEntity.getLogin());
             return;
         }
+        mailOutbox.enqueue(userEntity.getId(), templateName, titleKey, userEntity.getActivationKey(), userEntity.getResetKey());
+    }
+
+    /**
+     * Render the email of a template for a user, in the language of the user.
+     *
+     * @param activationKey the activation key queued with the email, if any.
+     * @param resetKey the reset key queued with the email, if any.
+     */
+    public MimeMessage createMessageFromTemplate(
+        UserEntity userEntity,
+        String templateName,
+        String titleKey,
+        String activationKey,
+        String resetKey
+    )
+        throws MessagingException {
         Locale locale = Locale.forLanguageTag(userEntity.getLangKey());
         Context context = new Context(locale);
         context.setVariable(USER, userEntity);
+        context.setVariable(ACTIVATION_KEY, activationKey);
+        context.setVariable(RESET_KEY, resetKey);
         context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
         String content = templateEngine.process(templateName, context);
         String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmail(userEntity.getEmail(), subject, content, false, true);
+
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, false, StandardCharsets.UTF_8.name());
+        message.setTo(userEntity.getEmail());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(subject);
+        message.setText(content, true);
+        return mimeMessage;
     }
 
-    @Async
     public void sendActivationEmail(UserEntity userEntity) {
-        log.debug("Sending activation email to '{}'", userEntity.getEmail());
+        log.debug("Queuing activation email to '{}'", userEntity.getEmail());
         sendEmailFromTemplate(userEntity, "mail/activationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendCreationEmail(UserEntity userEntity) {
-        log.debug("Sending creation email to '{}'", userEntity.getEmail());
+        log.debug("Queuing creation email to '{}'", userEntity.getEmail());
         sendEmailFromTemplate(userEntity, "mail/creationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendPasswordResetMail(UserEntity userEntity) {
-        log.debug("Sending password reset email to '{}'", userEntity.getEmail());
+        log.debug("Queuing password reset email to '{}'", userEntity.getEmail());
         sendEmailFromTemplate(userEntity, "mail/passwordResetEmail", "email.reset.title");
     }
 }
@@ -0,0 +1,67 @@
+package io.github.jhipster.user.infrastructure.secondary.smtp;
+
+/**
+ * Email read from the {@code jhi_mail_outbox} table, with its keys still encrypted.
+ */
+class OutboxMail {
+
+    private final long id;
+
+    private final long userId;
+
+    private final String template;
+
+    private final String titleKey;
+
+    private final String encryptedActivationKey;
+
+    private final String encryptedResetKey;
+
+    private final int attempts;
+
+    OutboxMail(
+        long id,
+        long userId,
+        String template,
+        String titleKey,
+        String encryptedActivationKey,
+        String encryptedResetKey,
+        int attempts
+    ) {
+        this.id = id;
+        this.userId = userId;
+        this.template = template;
+        this.titleKey = titleKey;
+        this.encryptedActivationKey = encryptedActivationKey;
+        this.encryptedResetKey = encryptedResetKey;
+        this.attempts = attempts;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    long getUserId() {
+        return userId;
+    }
+
+    String getTemplate() {
+        return template;
+    }
+
+    String getTitleKey() {
+        return titleKey;
+    }
+
+    String getEncryptedActivationKey() {
+        return encryptedActivationKey;
+    }
+
+    String getEncryptedResetKey() {
+        return encryptedResetKey;
+    }
+
+    int getAttempts() {
+        return attempts;
+    }
+}
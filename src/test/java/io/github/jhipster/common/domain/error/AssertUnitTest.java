@@ -83,6 +83,11 @@ class AssertUnitTest {
             .hasMessageContaining("\"[0-9]+\"");
     }
 
+    @Test
+    void shouldValidateNullStringFormat() {
+        assertThatCode(() -> Assert.field("field", (String) null).format("[0-9]+")).doesNotThrowAnyException();
+    }
+
     @Test
     void shouldNotValidateLongFieldOverMaxValue() {
         assertThatThrownBy(() -> Assert.field("field", 4L).max(3))
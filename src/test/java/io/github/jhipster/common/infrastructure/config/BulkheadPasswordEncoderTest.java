@@ -0,0 +1,81 @@
+package io.github.jhipster.common.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.jhipster.common.application.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BulkheadPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private BulkheadPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    void testDelegateHashing() {
+        passwordEncoder = new BulkheadPasswordEncoder(new PrefixPasswordEncoder(), 1, 1, meterRegistry);
+
+        String encoded = passwordEncoder.encode("password");
+
+        assertThat(encoded).isEqualTo("{hashed}password");
+        assertThat(passwordEncoder.matches("password", encoded)).isTrue();
+        assertThat(passwordEncoder.matches("other", encoded)).isFalse();
+        assertThat(meterRegistry.get("security.password.hashing.wait").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testRejectWhenSaturated() throws Exception {
+        passwordEncoder = new BulkheadPasswordEncoder(new BlockingPasswordEncoder(), 1, 1, meterRegistry);
+        CompletableFuture.runAsync(() -> passwordEncoder.encode("running"));
+        CompletableFuture.runAsync(() -> passwordEncoder.encode("queued"));
+        while (
+            meterRegistry.get("security.password.hashing.active").gauge().value() < 1 ||
+            meterRegistry.get("security.password.hashing.queue").gauge().value() < 1
+        ) {
+            Thread.sleep(10);
+        }
+
+        assertThatThrownBy(() -> passwordEncoder.encode("rejected")).isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.get("security.password.hashing.rejected").counter().count()).isEqualTo(1);
+    }
+
+    private static class PrefixPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "{hashed}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    private class BlockingPasswordEncoder extends PrefixPasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.encode(rawPassword);
+        }
+    }
+}
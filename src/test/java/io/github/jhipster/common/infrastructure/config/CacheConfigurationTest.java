@@ -0,0 +1,96 @@
+package io.github.jhipster.common.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.user.application.UserPrincipalIndex;
+import io.github.jhipster.user.infrastructure.secondary.database.AuthorityEntity;
+import java.time.Duration;
+import javax.cache.CacheManager;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import tech.jhipster.config.JHipsterProperties;
+
+class CacheConfigurationTest {
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        jHipsterProperties.getCache().getEhcache().setTimeToLiveSeconds(3600);
+        applicationProperties = new ApplicationProperties();
+        cacheManager = TestCacheManagers.empty("cache-configuration-test");
+    }
+
+    @AfterEach
+    public void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void testUseDefaultsForUnlistedCaches() {
+        new CacheConfiguration(jHipsterProperties, applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+
+        ResourcePools resourcePools = resourcePools(AuthorityEntity.class.getName());
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP)).isNull();
+    }
+
+    @Test
+    void testApplyRegionSettings() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setHeapEntries(500L);
+        region.setOffHeapSize(DataSize.ofMegabytes(8));
+        region.setExpiry(ApplicationProperties.Cache.Expiry.TIME_TO_IDLE);
+        region.setTimeToLiveSeconds(60L);
+        applicationProperties.getCache().getRegions().put(UserPrincipalIndex.PRINCIPALS_CACHE, region);
+
+        new CacheConfiguration(jHipsterProperties, applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+
+        ResourcePools resourcePools = resourcePools(UserPrincipalIndex.PRINCIPALS_CACHE);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(500);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(8L * 1024 * 1024);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP).getUnit()).isEqualTo(MemoryUnit.B);
+        assertThat(ehcacheConfiguration(UserPrincipalIndex.PRINCIPALS_CACHE).getExpiryPolicy().getExpiryForAccess("key", () -> "value"))
+            .isEqualTo(Duration.ofSeconds(60));
+
+        cacheManager.getCache(UserPrincipalIndex.PRINCIPALS_CACHE).put("key", "value");
+        assertThat(cacheManager.getCache(UserPrincipalIndex.PRINCIPALS_CACHE).get("key")).isEqualTo("value");
+    }
+
+    @Test
+    void testBoundHeapBySize() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setHeapSize(DataSize.ofMegabytes(1));
+        applicationProperties.getCache().getRegions().put(UserPrincipalIndex.PRINCIPALS_CACHE, region);
+
+        new CacheConfiguration(jHipsterProperties, applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+
+        ResourcePools resourcePools = resourcePools(UserPrincipalIndex.PRINCIPALS_CACHE);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(MemoryUnit.B);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(1024 * 1024);
+    }
+
+    private ResourcePools resourcePools(String cacheName) {
+        return ehcacheConfiguration(cacheName).getResourcePools();
+    }
+
+    @SuppressWarnings("unchecked")
+    private org.ehcache.config.CacheConfiguration<Object, Object> ehcacheConfiguration(String cacheName) {
+        Eh107Configuration<Object, Object> configuration = cacheManager.getCache(cacheName).getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(org.ehcache.config.CacheConfiguration.class);
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.jhipster.common.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.user.application.UserPrincipalIndex;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CacheMetricsTest {
+
+    private CacheManager cacheManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager = TestCacheManagers.configured("cache-metrics-test", new ApplicationProperties());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void testBindCacheStatistics() {
+        new CacheMetrics(cacheManager).bindTo(meterRegistry);
+        Cache<Object, Object> cache = cacheManager.getCache(UserPrincipalIndex.PRINCIPALS_CACHE);
+
+        cache.put("john", "principal");
+        cache.get("john");
+        cache.get("jane");
+
+        assertThat(meterRegistry.get("cache.size").tag("cache", UserPrincipalIndex.PRINCIPALS_CACHE).gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.find("cache.gets.latency").tag("cache", UserPrincipalIndex.PRINCIPALS_CACHE).timeGauge()).isNotNull();
+        assertThat(meterRegistry.find("cache.puts.latency").tag("cache", UserPrincipalIndex.PRINCIPALS_CACHE).timeGauge()).isNotNull();
+        assertThat(meterRegistry.find("cache.gets").meters()).isEmpty();
+    }
+
+    @Test
+    void testBindNextToSpringBootCacheMetricsOnPrometheus() {
+        PrometheusMeterRegistry prometheusRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        for (String cacheName : cacheManager.getCacheNames()) {
+            JCacheMetrics.monitor(prometheusRegistry, cacheManager.getCache(cacheName), Tags.of("cacheManager", "cacheManager", "name", cacheName));
+        }
+
+        new CacheMetrics(cacheManager).bindTo(prometheusRegistry);
+
+        assertThat(prometheusRegistry.scrape()).contains("cache_size{cache=\"" + UserPrincipalIndex.PRINCIPALS_CACHE + "\"");
+    }
+
+    @Test
+    void testReadStatistics() {
+        Cache<Object, Object> cache = cacheManager.getCache(UserPrincipalIndex.PRINCIPALS_CACHE);
+
+        cache.put("john", "principal");
+        cache.get("john");
+
+        assertThat(CacheStatistics.of(cache)).hasValueSatisfying(statistics -> assertThat(statistics.getCacheHits()).isEqualTo(1));
+        assertThat(CacheStatistics.size(cache)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.jhipster.common.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.jhipster.common.application.PasswordHashingRejectedException;
+import io.github.jhipster.common.domain.AuthoritiesConstants;
+import io.github.jhipster.user.application.VerifiedCredentialCache;
+import java.util.Collections;
+import javax.cache.CacheManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class CredentialCachingAuthenticationProviderTest {
+
+    private PasswordEncoder passwordEncoder;
+
+    private CredentialCachingAuthenticationProvider authenticationProvider;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() {
+        passwordEncoder = spy(new BCryptPasswordEncoder(4));
+        String passwordHash = passwordEncoder.encode("password");
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        when(userDetailsService.loadUserByUsername("user"))
+            .thenReturn(new User("user", passwordHash, Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))));
+        when(userDetailsService.loadUserByUsername("unknown")).thenThrow(new UsernameNotFoundException("unknown"));
+
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getAuthentication().getCredentialCache().setEnabled(true);
+        cacheManager = TestCacheManagers.configured("credential-caching-authentication-provider-test", applicationProperties);
+        authenticationProvider = new CredentialCachingAuthenticationProvider(new VerifiedCredentialCache(applicationProperties, cacheManager));
+        authenticationProvider.setUserDetailsService(userDetailsService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+    }
+
+    @AfterEach
+    public void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void testSkipPasswordEncoderForVerifiedCredentials() {
+        authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("user", "password"));
+        authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("user", "password"));
+
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+    }
+
+    @Test
+    void testRejectWrongPasswordAfterVerifiedCredentials() {
+        assertThat(authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("user", "password"))).isNotNull();
+
+        assertThatThrownBy(() -> authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("user", "wrong-password")))
+            .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void testRethrowRejectedPasswordHashingForUnknownUser() {
+        doThrow(new PasswordHashingRejectedException()).when(passwordEncoder).matches(anyString(), anyString());
+
+        assertThatThrownBy(() -> authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("unknown", "password")))
+            .isInstanceOf(PasswordHashingRejectedException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.jhipster.common.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordEncodersTest {
+
+    private ApplicationProperties.Security.PasswordEncoding passwordEncoding;
+
+    @BeforeEach
+    public void setup() {
+        passwordEncoding = new ApplicationProperties().getSecurity().getPasswordEncoding();
+        passwordEncoding.getBcrypt().setStrength(4);
+    }
+
+    @Test
+    void testPrefixHashWithEncodingId() {
+        PasswordEncoder passwordEncoder = PasswordEncoders.delegating(passwordEncoding);
+
+        String passwordHash = passwordEncoder.encode("password");
+
+        assertThat(passwordHash).startsWith("{bcrypt}$2a$04$");
+        assertThat(passwordEncoder.matches("password", passwordHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(passwordHash)).isFalse();
+    }
+
+    @Test
+    void testMatchAndUpgradeHashWithoutPrefix() {
+        PasswordEncoder passwordEncoder = PasswordEncoders.delegating(passwordEncoding);
+        String legacyPasswordHash = new BCryptPasswordEncoder(4).encode("password");
+
+        assertThat(passwordEncoder.matches("password", legacyPasswordHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(legacyPasswordHash)).isTrue();
+    }
+
+    @Test
+    void testUpgradeHashWithLowerStrength() {
+        String weakPasswordHash = PasswordEncoders.delegating(passwordEncoding).encode("password");
+        passwordEncoding.getBcrypt().setStrength(5);
+
+        PasswordEncoder passwordEncoder = PasswordEncoders.delegating(passwordEncoding);
+
+        assertThat(passwordEncoder.matches("password", weakPasswordHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(weakPasswordHash)).isTrue();
+    }
+
+    @Test
+    void testUpgradeHashFromOtherEncoding() {
+        String bcryptPasswordHash = PasswordEncoders.delegating(passwordEncoding).encode("password");
+        passwordEncoding.setEncodingId(PasswordEncoders.ARGON2);
+
+        PasswordEncoder passwordEncoder = PasswordEncoders.delegating(passwordEncoding);
+        String argon2PasswordHash = passwordEncoder.encode("password");
+
+        assertThat(passwordEncoder.matches("password", bcryptPasswordHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(bcryptPasswordHash)).isTrue();
+        assertThat(argon2PasswordHash).startsWith("{argon2}").hasSizeLessThanOrEqualTo(128);
+        assertThat(passwordEncoder.matches("password", argon2PasswordHash)).isTrue();
+    }
+}
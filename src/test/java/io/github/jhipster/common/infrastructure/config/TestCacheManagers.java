@@ -0,0 +1,40 @@
+package io.github.jhipster.common.infrastructure.config;
+
+import java.net.URI;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Creates standalone JCache cache managers for unit tests, with the caches created by {@link CacheConfiguration}.
+ */
+public final class TestCacheManagers {
+
+    private TestCacheManagers() {}
+
+    /**
+     * Create an empty cache manager, isolated from the other cache managers by its name.
+     *
+     * @param name the name of the cache manager.
+     * @return the cache manager, to close at the end of the test.
+     */
+    public static CacheManager empty(String name) {
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return cachingProvider.getCacheManager(URI.create("urn:" + name), new DefaultConfiguration(TestCacheManagers.class.getClassLoader()));
+    }
+
+    /**
+     * Create a cache manager with the caches of the application.
+     *
+     * @param name the name of the cache manager.
+     * @param applicationProperties the properties sizing the caches.
+     * @return the cache manager, to close at the end of the test.
+     */
+    public static CacheManager configured(String name, ApplicationProperties applicationProperties) {
+        CacheManager cacheManager = empty(name);
+        new CacheConfiguration(new JHipsterProperties(), applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+        return cacheManager;
+    }
+}
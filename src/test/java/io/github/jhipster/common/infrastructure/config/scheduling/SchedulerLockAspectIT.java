@@ -0,0 +1,71 @@
+package io.github.jhipster.common.infrastructure.config.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.JhipsterMinimalApp;
+import io.github.jhipster.user.application.UserApplicationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link SchedulerLockAspect}, with the scheduling lock enabled.
+ * <p>
+ * They are not transactional: the lease is taken and released in its own transactions.
+ */
+@SpringBootTest(classes = JhipsterMinimalApp.class)
+@TestPropertySource(properties = "application.scheduling.lock.enabled=true")
+class SchedulerLockAspectIT {
+
+    private static final String JOB = "removeNotActivatedUsers";
+
+    @Autowired
+    private UserApplicationService userApplicationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void teardown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.update("delete from jhi_scheduled_lock"));
+    }
+
+    @Test
+    void assertThatJobRunsOnceWithinItsMinimumHold() {
+        double succeeded = runs("succeeded");
+        double skipped = runs("skipped");
+
+        userApplicationService.removeNotActivatedUsers();
+        userApplicationService.removeNotActivatedUsers();
+
+        assertThat(runs("succeeded")).isEqualTo(succeeded + 1);
+        assertThat(runs("skipped")).isEqualTo(skipped + 1);
+    }
+
+    @Test
+    void assertThatLastRunStateIsCommitted() {
+        userApplicationService.removeNotActivatedUsers();
+
+        assertThat(jdbcTemplate.queryForObject("select last_status from jhi_scheduled_lock where name = ?", String.class, JOB))
+            .isEqualTo("SUCCEEDED");
+        assertThat(meterRegistry.get("scheduled.jobs.last.success").tag("job", JOB).gauge().value()).isPositive();
+    }
+
+    private double runs(String result) {
+        Counter counter = meterRegistry.find("scheduled.jobs.runs").tag("job", JOB).tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
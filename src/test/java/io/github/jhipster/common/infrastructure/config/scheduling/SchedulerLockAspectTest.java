@@ -0,0 +1,102 @@
+package io.github.jhipster.common.infrastructure.config.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.github.jhipster.common.application.LockProvider;
+import io.github.jhipster.common.application.SchedulerLock;
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SchedulerLockAspectTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T01:00:00Z");
+
+    private LockProvider lockProvider;
+
+    private LockProvider.Lease lease;
+
+    private ProceedingJoinPoint joinPoint;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    private SchedulerLock schedulerLock;
+
+    @BeforeEach
+    public void setup() throws NoSuchMethodException {
+        lockProvider = mock(LockProvider.class);
+        lease = mock(LockProvider.Lease.class);
+        joinPoint = mock(ProceedingJoinPoint.class);
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        schedulerLock = SchedulerLockAspectTest.class.getDeclaredMethod("job").getAnnotation(SchedulerLock.class);
+    }
+
+    @Test
+    void testRunWhenLocked() throws Throwable {
+        when(lockProvider.tryLock("job", Duration.ofSeconds(600))).thenReturn(Optional.of(lease));
+
+        aspect().lock(joinPoint, schedulerLock);
+
+        verify(joinPoint).proceed();
+        verify(lease).unlock(Duration.ofSeconds(60), true);
+        assertThat(meterRegistry.get("scheduled.jobs.runs").tag("job", "job").tag("result", "succeeded").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("scheduled.jobs.last.success").tag("job", "job").gauge().value()).isEqualTo(NOW.getEpochSecond());
+    }
+
+    @Test
+    void testSkipWhenLockedByAnotherNode() throws Throwable {
+        when(lockProvider.tryLock(eq("job"), any())).thenReturn(Optional.empty());
+
+        aspect().lock(joinPoint, schedulerLock);
+
+        verify(joinPoint, never()).proceed();
+        assertThat(meterRegistry.get("scheduled.jobs.runs").tag("result", "skipped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testUnlockAsFailedOnError() throws Throwable {
+        when(lockProvider.tryLock(eq("job"), any())).thenReturn(Optional.of(lease));
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+        SchedulerLockAspect aspect = aspect();
+
+        assertThatThrownBy(() -> aspect.lock(joinPoint, schedulerLock)).isInstanceOf(IllegalStateException.class);
+
+        verify(lease).unlock(Duration.ofSeconds(60), false);
+        assertThat(meterRegistry.get("scheduled.jobs.runs").tag("result", "failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRunWithoutLockWhenDisabled() throws Throwable {
+        applicationProperties.getScheduling().getLock().setEnabled(false);
+
+        aspect().lock(joinPoint, schedulerLock);
+
+        verify(joinPoint).proceed();
+        verifyNoInteractions(lockProvider);
+    }
+
+    private SchedulerLockAspect aspect() {
+        return new SchedulerLockAspect(lockProvider, meterRegistry, applicationProperties, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @SchedulerLock(name = "job", leaseSeconds = 600, minHoldSeconds = 60)
+    void job() {}
+}
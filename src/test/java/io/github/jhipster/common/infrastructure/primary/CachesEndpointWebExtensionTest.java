@@ -0,0 +1,45 @@
+package io.github.jhipster.common.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.common.infrastructure.config.TestCacheManagers;
+import io.github.jhipster.user.application.UserPrincipalIndex;
+import java.util.List;
+import javax.cache.CacheManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CachesEndpointWebExtensionTest {
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager = TestCacheManagers.configured("caches-endpoint-test", new ApplicationProperties());
+    }
+
+    @AfterEach
+    public void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void testListCacheStatistics() {
+        cacheManager.getCache(UserPrincipalIndex.PRINCIPALS_CACHE).put("john", "principal");
+        cacheManager.getCache(UserPrincipalIndex.PRINCIPALS_CACHE).get("jane");
+
+        List<CacheStatisticsVM> caches = new CachesEndpointWebExtension(cacheManager).caches();
+
+        assertThat(caches).extracting(CacheStatisticsVM::getName).contains(UserPrincipalIndex.PRINCIPALS_CACHE);
+        CacheStatisticsVM principals = caches
+            .stream()
+            .filter(cache -> cache.getName().equals(UserPrincipalIndex.PRINCIPALS_CACHE))
+            .findFirst()
+            .orElseThrow();
+        assertThat(principals.getSize()).isEqualTo(1);
+        assertThat(principals.getPuts()).isEqualTo(1);
+        assertThat(principals.getMisses()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.jhipster.common.infrastructure.primary;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.github.jhipster.JhipsterMinimalApp;
+import io.github.jhipster.common.domain.ErrorConstants;
+import io.github.jhipster.common.infrastructure.config.BulkheadPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for {@link PasswordHashingRejectionFilter}, with a password hashing bulkhead of one worker and one
+ * queued task.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(classes = { JhipsterMinimalApp.class, PasswordHashingRejectionFilterIT.SaturableBulkheadConfiguration.class })
+class PasswordHashingRejectionFilterIT {
+
+    private static final CountDownLatch release = new CountDownLatch(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void testAnswerHttpBasicWithServiceUnavailableWhenSaturated() throws Exception {
+        CompletableFuture.runAsync(() -> passwordEncoder.encode("running"));
+        CompletableFuture.runAsync(() -> passwordEncoder.encode("queued"));
+        while (
+            meterRegistry.get("security.password.hashing.active").gauge().value() < 1 ||
+            meterRegistry.get("security.password.hashing.queue").gauge().value() < 1
+        ) {
+            Thread.sleep(10);
+        }
+
+        mockMvc
+            .perform(get("/api/account").with(httpBasic("admin", "admin")))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_PASSWORD_HASHING_UNAVAILABLE));
+    }
+
+    @TestConfiguration
+    static class SaturableBulkheadConfiguration {
+
+        @Bean
+        public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+            return new BulkheadPasswordEncoder(new BlockingPasswordEncoder(), 1, 1, meterRegistry);
+        }
+    }
+
+    /**
+     * Blocks the encoding until the end of the test, to hold the bulkhead.
+     */
+    private static class BlockingPasswordEncoder extends BCryptPasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.encode(rawPassword);
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package io.github.jhipster.common.infrastructure.primary.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 import io.github.jhipster.common.domain.AuthoritiesConstants;
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.common.infrastructure.config.TestCacheManagers;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import java.util.Collections;
+import javax.cache.CacheManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -13,6 +17,7 @@ import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -33,7 +38,7 @@ class JWTFilterTest {
         ReflectionTestUtils.setField(tokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
 
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 60000);
-        jwtFilter = new JWTFilter(tokenProvider);
+        jwtFilter = new JWTFilter(tokenProvider, new VerifiedTokenCache(new ApplicationProperties(), mock(CacheManager.class)));
         SecurityContextHolder.getContext().setAuthentication(null);
     }
 
@@ -56,6 +61,33 @@ class JWTFilterTest {
         assertThat(SecurityContextHolder.getContext().getAuthentication().getCredentials()).hasToString(jwt);
     }
 
+    @Test
+    void testJWTFilterBuildsAnAuthenticationPerRequestFromACachedToken() throws Exception {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getAuthentication().getJwt().getCache().setEnabled(true);
+        CacheManager cacheManager = TestCacheManagers.configured("jwt-filter-test", applicationProperties);
+        try {
+            jwtFilter = new JWTFilter(tokenProvider, new VerifiedTokenCache(applicationProperties, cacheManager));
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                "test-user",
+                "test-password",
+                Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+            );
+            String jwt = tokenProvider.createToken(authentication, false);
+
+            Authentication first = authenticate(jwt);
+            SecurityContextHolder.getContext().setAuthentication(null);
+            Authentication second = authenticate(jwt);
+
+            assertThat(second).isNotSameAs(first);
+            assertThat(second.getPrincipal()).isNotSameAs(first.getPrincipal());
+            assertThat(second.getName()).isEqualTo("test-user");
+            assertThat(second.getAuthorities()).isEqualTo(first.getAuthorities());
+        } finally {
+            cacheManager.close();
+        }
+    }
+
     @Test
     void testJWTFilterInvalidToken() throws Exception {
         String jwt = "wrong_jwt";
@@ -109,4 +141,12 @@ class JWTFilterTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
+
+    private Authentication authenticate(String jwt) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        request.setRequestURI("/api/test");
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
 }
@@ -82,6 +82,54 @@ class TokenProviderTest {
         assertThat(isTokenValid).isFalse();
     }
 
+    @Test
+    void testReturnAuthenticationWhenJWTisValid() {
+        Authentication authentication = createAuthentication();
+        String token = tokenProvider.createToken(authentication, false);
+
+        Optional<Authentication> verifiedAuthentication = tokenProvider.getVerifiedAuthentication(token);
+
+        assertThat(verifiedAuthentication).isPresent();
+        assertThat(verifiedAuthentication.get().getName()).isEqualTo("anonymous");
+        assertThat(verifiedAuthentication.get().getCredentials()).hasToString(token);
+        assertThat(verifiedAuthentication.get().getAuthorities())
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ANONYMOUS);
+    }
+
+    @Test
+    void testReturnEmptyAuthenticationWhenJWThasInvalidSignature() {
+        Optional<Authentication> verifiedAuthentication = tokenProvider.getVerifiedAuthentication(createTokenWithDifferentSignature());
+
+        assertThat(verifiedAuthentication).isEmpty();
+    }
+
+    @Test
+    void testReturnEmptyAuthenticationWhenJWTisExpired() {
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", -ONE_MINUTE);
+
+        Authentication authentication = createAuthentication();
+        String token = tokenProvider.createToken(authentication, false);
+
+        Optional<Authentication> verifiedAuthentication = tokenProvider.getVerifiedAuthentication(token);
+
+        assertThat(verifiedAuthentication).isEmpty();
+    }
+
+    @Test
+    void testShareAuthoritiesBetweenTokensWithSameRoles() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+        String otherToken = tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken("other", "other", createAuthentication().getAuthorities()),
+            false
+        );
+
+        Authentication authentication = tokenProvider.getAuthentication(token);
+        Authentication otherAuthentication = tokenProvider.getAuthentication(otherToken);
+
+        assertThat(otherAuthentication.getAuthorities().iterator().next()).isSameAs(authentication.getAuthorities().iterator().next());
+    }
+
     private Authentication createAuthentication() {
         Collection<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
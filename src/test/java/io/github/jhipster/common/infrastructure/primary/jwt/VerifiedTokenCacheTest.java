@@ -0,0 +1,133 @@
+package io.github.jhipster.common.infrastructure.primary.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.common.domain.MutableClock;
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.common.infrastructure.config.TestCacheManagers;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.cache.CacheManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2020-12-01T10:00:00Z");
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private MutableClock clock;
+
+    private CacheManager cacheManager;
+
+    private ApplicationProperties applicationProperties;
+
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    public void setup() {
+        clock = new MutableClock(NOW);
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getAuthentication().getJwt().getCache().setEnabled(true);
+        applicationProperties.getSecurity().getAuthentication().getJwt().getCache().setTimeToLiveSeconds(300);
+        verifications = new AtomicInteger();
+    }
+
+    @AfterEach
+    public void teardown() {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+    }
+
+    @Test
+    void testVerifyEveryTimeWhenDisabled() {
+        applicationProperties.getSecurity().getAuthentication().getJwt().getCache().setEnabled(false);
+        VerifiedTokenCache cache = newVerifiedTokenCache();
+
+        cache.get("token", verifierExpiringAt(NOW.plusSeconds(3600)));
+        cache.get("token", verifierExpiringAt(NOW.plusSeconds(3600)));
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void testServeCachedAuthentication() {
+        VerifiedTokenCache cache = newVerifiedTokenCache();
+
+        Optional<VerifiedToken> first = cache.get("token", verifierExpiringAt(NOW.plusSeconds(3600)));
+        Optional<VerifiedToken> second = cache.get("token", verifierExpiringAt(NOW.plusSeconds(3600)));
+
+        assertThat(verifications).hasValue(1);
+        assertThat(second).isPresent();
+        assertThat(second.get().getSubject()).isEqualTo("user");
+        assertThat(second.get().getAuthorities()).isSameAs(first.get().getAuthorities());
+    }
+
+    @Test
+    void testNeverServeExpiredToken() {
+        VerifiedTokenCache cache = newVerifiedTokenCache();
+
+        cache.get("token", verifierExpiringAt(NOW.plusSeconds(60)));
+        clock.setInstant(NOW.plusSeconds(60));
+        Optional<VerifiedToken> expired = cache.get("token", token -> Optional.empty());
+
+        assertThat(expired).isEmpty();
+    }
+
+    @Test
+    void testExpireAfterTimeToLive() {
+        VerifiedTokenCache cache = newVerifiedTokenCache();
+
+        cache.get("token", verifierExpiringAt(NOW.plusSeconds(3600)));
+        clock.setInstant(NOW.plusSeconds(301));
+        cache.get("token", verifierExpiringAt(NOW.plusSeconds(3600)));
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void testDoNotCacheInvalidToken() {
+        VerifiedTokenCache cache = newVerifiedTokenCache();
+        Function<String, Optional<VerifiedToken>> invalid = token -> {
+            verifications.incrementAndGet();
+            return Optional.empty();
+        };
+
+        cache.get("token", invalid);
+        cache.get("token", invalid);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void testStayWithinMaxEntries() {
+        applicationProperties.getSecurity().getAuthentication().getJwt().getCache().setMaxEntries(2);
+        VerifiedTokenCache cache = newVerifiedTokenCache();
+
+        cache.get("token-1", verifierExpiringAt(NOW.plusSeconds(3600)));
+        cache.get("token-2", verifierExpiringAt(NOW.plusSeconds(3600)));
+        cache.get("token-3", verifierExpiringAt(NOW.plusSeconds(3600)));
+
+        assertThat(cacheManager.getCache(VerifiedTokenCache.CACHE_NAME)).hasSize(2);
+    }
+
+    private VerifiedTokenCache newVerifiedTokenCache() {
+        cacheManager = TestCacheManagers.configured("verified-token-cache-test", applicationProperties);
+        return new VerifiedTokenCache(applicationProperties, cacheManager, clock);
+    }
+
+    private Function<String, Optional<VerifiedToken>> verifierExpiringAt(Instant expiration) {
+        return token -> {
+            verifications.incrementAndGet();
+            return Optional.of(new VerifiedToken("user", AUTHORITIES, expiration));
+        };
+    }
+}
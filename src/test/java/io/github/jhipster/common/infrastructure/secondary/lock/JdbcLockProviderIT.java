@@ -0,0 +1,88 @@
+package io.github.jhipster.common.infrastructure.secondary.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.JhipsterMinimalApp;
+import io.github.jhipster.common.application.LockProvider;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link JdbcLockProvider}.
+ */
+@SpringBootTest(classes = JhipsterMinimalApp.class)
+class JdbcLockProviderIT {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T01:00:00Z");
+
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void teardown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.update("delete from jhi_scheduled_lock"));
+    }
+
+    @Test
+    void testLockOnceAcrossNodes() {
+        Optional<LockProvider.Lease> first = node(NOW).tryLock("job", LEASE);
+        Optional<LockProvider.Lease> second = node(NOW.plusSeconds(1)).tryLock("job", LEASE);
+
+        assertThat(first).isPresent();
+        assertThat(second).isEmpty();
+    }
+
+    @Test
+    void testLockAgainAfterUnlock() {
+        node(NOW).tryLock("job", LEASE).orElseThrow().unlock(Duration.ZERO, true);
+
+        assertThat(node(NOW.plusSeconds(1)).tryLock("job", LEASE)).isPresent();
+    }
+
+    @Test
+    void testHoldForTheMinimumTime() {
+        node(NOW).tryLock("job", LEASE).orElseThrow().unlock(Duration.ofSeconds(60), true);
+
+        assertThat(node(NOW.plusSeconds(30)).tryLock("job", LEASE)).isEmpty();
+        assertThat(node(NOW.plusSeconds(60)).tryLock("job", LEASE)).isPresent();
+    }
+
+    @Test
+    void testLockAgainAfterLeaseExpiry() {
+        node(NOW).tryLock("job", LEASE);
+
+        assertThat(node(NOW.plus(LEASE)).tryLock("job", LEASE)).isPresent();
+    }
+
+    @Test
+    void testRecordLastRunState() {
+        node(NOW).tryLock("job", LEASE).orElseThrow().unlock(Duration.ZERO, false);
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+            "select last_status, last_finished_at from jhi_scheduled_lock where name = ?",
+            "job"
+        );
+        assertThat(row.get("last_status")).isEqualTo("FAILED");
+        assertThat(row.get("last_finished_at")).isNotNull();
+    }
+
+    private JdbcLockProvider node(Instant now) {
+        return new JdbcLockProvider(jdbcTemplate, transactionManager, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
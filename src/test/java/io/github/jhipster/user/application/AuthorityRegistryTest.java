@@ -0,0 +1,63 @@
+package io.github.jhipster.user.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.jhipster.common.domain.AuthoritiesConstants;
+import io.github.jhipster.user.infrastructure.secondary.database.AuthorityEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.AuthorityRepository;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class AuthorityRegistryTest {
+
+    private AuthorityRepository authorityRepository;
+
+    private AuthorityRegistry authorityRegistry;
+
+    @BeforeEach
+    public void setup() {
+        authorityRepository = mock(AuthorityRepository.class);
+        when(authorityRepository.findAll(any(Sort.class)))
+            .thenReturn(Arrays.asList(authority(AuthoritiesConstants.ADMIN), authority(AuthoritiesConstants.USER)));
+        authorityRegistry = new AuthorityRegistry(authorityRepository);
+    }
+
+    @Test
+    void testLoadOnce() {
+        assertThat(authorityRegistry.find(AuthoritiesConstants.USER)).map(AuthorityEntity::getName).contains(AuthoritiesConstants.USER);
+        AuthorityEntity user = authorityRegistry.find(AuthoritiesConstants.USER).get();
+        assertThat(authorityRegistry.find(AuthoritiesConstants.USER)).containsSame(user);
+        assertThat(authorityRegistry.names()).containsExactly(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER);
+        verify(authorityRepository, times(1)).findAll(any(Sort.class));
+    }
+
+    @Test
+    void testFindUnknownAuthority() {
+        assertThat(authorityRegistry.find("ROLE_UNKNOWN")).isEmpty();
+    }
+
+    @Test
+    void testReload() {
+        authorityRegistry.find(AuthoritiesConstants.USER);
+        when(authorityRepository.findAll(any(Sort.class))).thenReturn(Collections.singletonList(authority(AuthoritiesConstants.USER)));
+
+        authorityRegistry.reload();
+
+        assertThat(authorityRegistry.names()).containsExactly(AuthoritiesConstants.USER);
+        assertThat(authorityRegistry.find(AuthoritiesConstants.ADMIN)).isEmpty();
+    }
+
+    private static AuthorityEntity authority(String name) {
+        AuthorityEntity authority = new AuthorityEntity();
+        authority.setName(name);
+        return authority;
+    }
+}
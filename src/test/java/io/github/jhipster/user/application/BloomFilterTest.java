@@ -0,0 +1,38 @@
+package io.github.jhipster.user.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void testContainPutValues() {
+        BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+
+        for (int i = 0; i < 1000; i++) {
+            bloomFilter.put("user-" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(bloomFilter.mightContain("user-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void testRejectMostUnknownValues() {
+        BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            bloomFilter.put("user-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (bloomFilter.mightContain("unknown-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
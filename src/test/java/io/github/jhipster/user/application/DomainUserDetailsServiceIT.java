@@ -14,6 +14,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,8 +40,13 @@ class DomainUserDetailsServiceIT {
     @Autowired
     private UserDetailsService domainUserDetailsService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @BeforeEach
     public void init() {
+        cacheManager.getCache(UserPrincipalIndex.PRINCIPALS_CACHE).clear();
+
         UserEntity userEntityOne = new UserEntity();
         userEntityOne.setLogin(USER_ONE_LOGIN);
         userEntityOne.setPassword(RandomStringUtils.random(60));
@@ -106,6 +113,16 @@ class DomainUserDetailsServiceIT {
         assertThat(userDetails.getUsername()).isEqualTo(USER_ONE_LOGIN);
     }
 
+    @Test
+    void assertThatPrincipalIsCachedByLoginAndEmail() {
+        domainUserDetailsService.loadUserByUsername(USER_ONE_LOGIN);
+
+        Cache cache = cacheManager.getCache(UserPrincipalIndex.PRINCIPALS_CACHE);
+        UserPrincipal byLogin = cache.get("login:" + USER_ONE_LOGIN, UserPrincipal.class);
+        assertThat(byLogin).isNotNull();
+        assertThat(cache.get("email:" + USER_ONE_EMAIL, UserPrincipal.class)).isSameAs(byLogin);
+    }
+
     @Test
     void assertThatUserNotActivatedExceptionIsThrownForNotActivatedUsers() {
         assertThatExceptionOfType(UserNotActivatedException.class)
@@ -0,0 +1,90 @@
+package io.github.jhipster.user.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import io.github.jhipster.JhipsterMinimalApp;
+import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
+import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for {@link KnownPrincipalsFilter}.
+ * <p>
+ * They are not transactional: the filter only learns about the users whose creation has been committed.
+ */
+@SpringBootTest(classes = JhipsterMinimalApp.class)
+@TestPropertySource(properties = "application.security.known-principals.enabled=true")
+class KnownPrincipalsFilterIT {
+
+    private static final String REGISTERED_LOGIN = "known-principals-registered";
+
+    private static final String INSERTED_LOGIN = "known-principals-inserted";
+
+    @Autowired
+    private KnownPrincipalsFilter knownPrincipalsFilter;
+
+    @Autowired
+    private UserApplicationService userApplicationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsService domainUserDetailsService;
+
+    @AfterEach
+    public void cleanup() {
+        userRepository.findOneByLogin(REGISTERED_LOGIN).ifPresent(userRepository::delete);
+        userRepository.findOneByLogin(INSERTED_LOGIN).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void assertThatExistingUsersAreKnownAtStartup() {
+        assertThat(knownPrincipalsFilter.mightExist("admin")).isTrue();
+        assertThat(knownPrincipalsFilter.mightExist("admin@localhost")).isTrue();
+    }
+
+    @Test
+    void assertThatUnknownLoginIsRejected() {
+        assertThatExceptionOfType(UsernameNotFoundException.class)
+            .isThrownBy(() -> domainUserDetailsService.loadUserByUsername("known-principals-unknown"));
+    }
+
+    @Test
+    void assertThatRegisteredUserIsKnownOnceCommitted() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setLogin(REGISTERED_LOGIN);
+        userDTO.setEmail(REGISTERED_LOGIN + "@example.com");
+        userDTO.setLangKey("en");
+
+        userApplicationService.registerUser(userDTO, "password");
+
+        assertThat(knownPrincipalsFilter.mightExist(REGISTERED_LOGIN)).isTrue();
+        assertThat(knownPrincipalsFilter.mightExist(REGISTERED_LOGIN + "@EXAMPLE.com")).isTrue();
+    }
+
+    @Test
+    void assertThatInsertedUserIsKnownAfterRebuild() {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setLogin(INSERTED_LOGIN);
+        userEntity.setPassword(RandomStringUtils.random(60));
+        userEntity.setActivated(true);
+        userEntity.setEmail(INSERTED_LOGIN + "@example.com");
+        userEntity.setLangKey("en");
+        userRepository.saveAndFlush(userEntity);
+
+        knownPrincipalsFilter.rebuild();
+
+        assertThat(knownPrincipalsFilter.mightExist(INSERTED_LOGIN)).isTrue();
+        assertThat(domainUserDetailsService.loadUserByUsername(INSERTED_LOGIN).getUsername()).isEqualTo(INSERTED_LOGIN);
+    }
+}
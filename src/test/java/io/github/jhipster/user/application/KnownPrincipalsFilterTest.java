@@ -0,0 +1,91 @@
+package io.github.jhipster.user.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class KnownPrincipalsFilterTest {
+
+    private UserRepository userRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.streamAllLogins()).thenReturn(Stream.of("admin", "user"));
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of("Admin@localhost"));
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getKnownPrincipals().setEnabled(true);
+        applicationProperties.getSecurity().getKnownPrincipals().setExpectedPrincipals(100);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testLetEverythingThroughWhenDisabled() {
+        applicationProperties.getSecurity().getKnownPrincipals().setEnabled(false);
+        KnownPrincipalsFilter filter = new KnownPrincipalsFilter(userRepository, applicationProperties, meterRegistry);
+
+        filter.rebuild();
+
+        assertThat(filter.mightExist("unknown")).isTrue();
+    }
+
+    @Test
+    void testLetEverythingThroughBeforeFirstBuild() {
+        KnownPrincipalsFilter filter = new KnownPrincipalsFilter(userRepository, applicationProperties, meterRegistry);
+
+        assertThat(filter.mightExist("unknown")).isTrue();
+    }
+
+    @Test
+    void testRejectUnknownLogin() {
+        KnownPrincipalsFilter filter = new KnownPrincipalsFilter(userRepository, applicationProperties, meterRegistry);
+
+        filter.rebuild();
+
+        assertThat(filter.mightExist("user")).isTrue();
+        assertThat(filter.mightExist("ADMIN")).isTrue();
+        assertThat(filter.mightExist("admin@localhost")).isTrue();
+        assertThat(filter.mightExist("unknown-login-for-the-filter")).isFalse();
+        assertThat(meterRegistry.get("security.known.principals").tag("result", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testKnowAddedLogin() {
+        KnownPrincipalsFilter filter = new KnownPrincipalsFilter(userRepository, applicationProperties, meterRegistry);
+        filter.rebuild();
+
+        filter.add("new-user");
+
+        assertThat(filter.mightExist("new-user")).isTrue();
+    }
+
+    @Test
+    void testKnowLoginAddedDuringRebuild() {
+        KnownPrincipalsFilter filter = new KnownPrincipalsFilter(userRepository, applicationProperties, meterRegistry);
+        filter.rebuild();
+        when(userRepository.streamAllLogins())
+            .thenAnswer(
+                invocation -> {
+                    // committed after the rebuild has read the database
+                    filter.add("added-during-rebuild");
+                    return Stream.of("admin", "user");
+                }
+            );
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of("Admin@localhost"));
+
+        filter.rebuild();
+
+        assertThat(filter.mightExist("added-during-rebuild")).isTrue();
+    }
+}
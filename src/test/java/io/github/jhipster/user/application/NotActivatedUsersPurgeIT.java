@@ -0,0 +1,110 @@
+package io.github.jhipster.user.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import io.github.jhipster.JhipsterMinimalApp;
+import io.github.jhipster.common.domain.AuthoritiesConstants;
+import io.github.jhipster.user.infrastructure.secondary.database.AuthorityEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.AuthorityRepository;
+import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManagerFactory;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link NotActivatedUsersPurge}.
+ * <p>
+ * They are not transactional, so that each batch is committed on its own as in production, and they enable the
+ * second-level cache to check which regions the bulk deletes invalidate.
+ */
+@SpringBootTest(classes = JhipsterMinimalApp.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+class NotActivatedUsersPurgeIT {
+
+    private static final String LOGIN_PREFIX = "purge-";
+
+    @Autowired
+    private NotActivatedUsersPurge notActivatedUsersPurge;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AuditingHandler auditingHandler;
+
+    @MockBean
+    private DateTimeProvider dateTimeProvider;
+
+    @AfterEach
+    public void cleanup() {
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(
+                status ->
+                    userRepository.deleteAll(
+                        userRepository.findAll().stream().filter(user -> user.getLogin().startsWith(LOGIN_PREFIX)).collect(Collectors.toList())
+                    )
+            );
+    }
+
+    @Test
+    void assertThatAllBatchesAreDeletedWithoutInvalidatingOtherRegions() {
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(LocalDateTime.now().minus(4, ChronoUnit.DAYS)));
+        auditingHandler.setDateTimeProvider(dateTimeProvider);
+        int users = NotActivatedUsersPurge.BATCH_SIZE * 2 + 1;
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(
+                status -> {
+                    Set<AuthorityEntity> authorities = Set.of(authorityRepository.findById(AuthoritiesConstants.USER).orElseThrow());
+                    List<UserEntity> notActivated = new ArrayList<>(users);
+                    for (int i = 0; i < users; i++) {
+                        UserEntity userEntity = new UserEntity();
+                        userEntity.setLogin(LOGIN_PREFIX + i);
+                        userEntity.setEmail(LOGIN_PREFIX + i + "@localhost");
+                        userEntity.setPassword(RandomStringUtils.random(60));
+                        userEntity.setActivated(false);
+                        userEntity.setActivationKey(RandomStringUtils.randomAlphanumeric(20));
+                        userEntity.setAuthorities(new HashSet<>(authorities));
+                        notActivated.add(userEntity);
+                    }
+                    userRepository.saveAll(notActivated);
+                }
+            );
+        // loads the authority in the second-level cache
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> authorityRepository.findById(AuthoritiesConstants.USER));
+        assertThat(entityManagerFactory.getCache().contains(AuthorityEntity.class, AuthoritiesConstants.USER)).isTrue();
+
+        int deleted = notActivatedUsersPurge.purge();
+
+        assertThat(deleted).isGreaterThanOrEqualTo(users);
+        assertThat(userRepository.findAll()).noneMatch(user -> user.getLogin().startsWith(LOGIN_PREFIX));
+        assertThat(entityManagerFactory.getCache().contains(AuthorityEntity.class, AuthoritiesConstants.USER)).isTrue();
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.jhipster.user.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.jhipster.common.domain.AuthoritiesConstants;
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.user.infrastructure.secondary.database.AuthorityEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class PrincipalsWarmUpTest {
+
+    private static final long NOW = 1606816800000L;
+
+    @TempDir
+    Path directory;
+
+    private UserRepository userRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private Clock clock;
+
+    private Path file;
+
+    @BeforeEach
+    public void setup() {
+        userRepository = mock(UserRepository.class);
+        applicationProperties = new ApplicationProperties();
+        file = directory.resolve("principals-warm-up.txt");
+        applicationProperties.getCache().getPrincipals().getWarmUp().setEnabled(true);
+        applicationProperties.getCache().getPrincipals().getWarmUp().setFile(file.toString());
+        clock = mock(Clock.class);
+    }
+
+    @Test
+    void testWarmImmediatelyWhenDisabled() {
+        applicationProperties.getCache().getPrincipals().getWarmUp().setEnabled(false);
+        PrincipalsWarmUp principalsWarmUp = new PrincipalsWarmUp(userPrincipalIndex(), applicationProperties, Runnable::run);
+
+        principalsWarmUp.start();
+        principalsWarmUp.snapshot();
+
+        assertThat(principalsWarmUp.isWarm()).isTrue();
+        assertThat(file).doesNotExist();
+        verify(userRepository, never()).findAllWithAuthoritiesByLoginIn(anyCollection());
+    }
+
+    @Test
+    void testSaveMostRecentlyLoadedLoginsFirst() throws Exception {
+        UserPrincipalIndex userPrincipalIndex = userPrincipalIndex();
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("john")).thenReturn(Collections.singletonList(user("john")));
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("jane")).thenReturn(Collections.singletonList(user("jane")));
+        when(clock.millis()).thenReturn(NOW);
+        userPrincipalIndex.find("john");
+        when(clock.millis()).thenReturn(NOW + 1000);
+        userPrincipalIndex.find("jane");
+
+        new PrincipalsWarmUp(userPrincipalIndex, applicationProperties, Runnable::run).snapshot();
+
+        assertThat(Files.readAllLines(file)).containsExactly("jane", "john");
+    }
+
+    @Test
+    void testLoadSavedLoginsAtStartup() throws Exception {
+        Files.write(file, Arrays.asList("jane", "john", "", "jane"));
+        when(userRepository.findAllWithAuthoritiesByLoginIn(List.of("jane", "john"))).thenReturn(Arrays.asList(user("jane"), user("john")));
+        UserPrincipalIndex userPrincipalIndex = userPrincipalIndex();
+        PrincipalsWarmUp principalsWarmUp = new PrincipalsWarmUp(userPrincipalIndex, applicationProperties, Runnable::run);
+
+        principalsWarmUp.start();
+
+        assertThat(principalsWarmUp.isWarm()).isTrue();
+        assertThat(principalsWarmUp.getLoaded()).isEqualTo(2);
+        assertThat(userPrincipalIndex.find("john@localhost")).map(UserPrincipal::getLogin).contains("john");
+        verify(userRepository, never()).findAllWithAuthoritiesByLoginOrEmail("john@localhost");
+    }
+
+    @Test
+    void testKeepEmailOwnerWhenWarmingCollidingLogin() throws Exception {
+        UserEntity loginLikeEmail = user("john@localhost");
+        Files.write(file, Collections.singletonList("john@localhost"));
+        when(userRepository.findAllWithAuthoritiesByLoginIn(List.of("john@localhost"))).thenReturn(List.of(loginLikeEmail));
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("john")).thenReturn(Collections.singletonList(user("john")));
+        UserPrincipalIndex userPrincipalIndex = userPrincipalIndex();
+        userPrincipalIndex.find("john");
+
+        new PrincipalsWarmUp(userPrincipalIndex, applicationProperties, Runnable::run).start();
+
+        assertThat(userPrincipalIndex.find("john@localhost")).map(UserPrincipal::getLogin).contains("john");
+        assertThat(userPrincipalIndex.findByLogin("john@localhost")).map(UserPrincipal::getLogin).contains("john@localhost");
+        verify(userRepository, never()).findAllWithAuthoritiesByLoginOrEmail("john@localhost");
+    }
+
+    @Test
+    void testWaitForTheWarmUp() throws Exception {
+        Files.write(file, Collections.singletonList("john"));
+        List<Runnable> tasks = new ArrayList<>();
+        PrincipalsWarmUp principalsWarmUp = new PrincipalsWarmUp(userPrincipalIndex(), applicationProperties, tasks::add);
+
+        principalsWarmUp.start();
+        assertThat(principalsWarmUp.isWarm()).isFalse();
+        tasks.forEach(Runnable::run);
+
+        assertThat(principalsWarmUp.isWarm()).isTrue();
+    }
+
+    @Test
+    void testWarmWithoutSnapshot() {
+        PrincipalsWarmUp principalsWarmUp = new PrincipalsWarmUp(userPrincipalIndex(), applicationProperties, Runnable::run);
+
+        principalsWarmUp.start();
+
+        assertThat(principalsWarmUp.isWarm()).isTrue();
+        verify(userRepository, never()).findAllWithAuthoritiesByLoginIn(anyCollection());
+    }
+
+    private UserPrincipalIndex userPrincipalIndex() {
+        return new UserPrincipalIndex(
+            userRepository,
+            new ConcurrentMapCacheManager(UserPrincipalIndex.PRINCIPALS_CACHE),
+            applicationProperties,
+            new SimpleMeterRegistry(),
+            Runnable::run,
+            clock
+        );
+    }
+
+    private static UserEntity user(String login) {
+        AuthorityEntity authority = new AuthorityEntity();
+        authority.setName(AuthoritiesConstants.USER);
+        UserEntity user = new UserEntity();
+        user.setLogin(login);
+        user.setEmail(login + "@localhost");
+        user.setPassword("$2a$10$password");
+        user.setActivated(true);
+        user.setAuthorities(Collections.singleton(authority));
+        return user;
+    }
+}
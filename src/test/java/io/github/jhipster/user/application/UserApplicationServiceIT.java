@@ -1,24 +1,33 @@
 package io.github.jhipster.user.application;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.mockito.Mockito.when;
 
 import io.github.jhipster.JhipsterMinimalApp;
+import io.github.jhipster.common.domain.AuthoritiesConstants;
 import io.github.jhipster.common.domain.Constants;
+import io.github.jhipster.user.application.error.UsernameAlreadyUsedException;
+import io.github.jhipster.user.domain.EmailAlreadyUsedException;
 import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
+import io.github.jhipster.user.infrastructure.secondary.database.AuthorityRepository;
 import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
 import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.Page;
@@ -51,9 +60,15 @@ class UserApplicationServiceIT {
     @Autowired
     private UserApplicationService userApplicationService;
 
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
     @Autowired
     private AuditingHandler auditingHandler;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockBean
     private DateTimeProvider dateTimeProvider;
 
@@ -75,6 +90,36 @@ class UserApplicationServiceIT {
         auditingHandler.setDateTimeProvider(dateTimeProvider);
     }
 
+    @Test
+    @Transactional
+    void assertThatDuplicateLoginViolationIsMappedFromTheDatabase() {
+        userRepository.saveAndFlush(userEntity);
+        UserEntity duplicate = copy(userEntity);
+        duplicate.setEmail("other@localhost");
+
+        DataIntegrityViolationException violation = catchThrowableOfType(
+            () -> userRepository.saveAndFlush(duplicate),
+            DataIntegrityViolationException.class
+        );
+
+        assertThat(UserApplicationService.alreadyUsed(violation)).isInstanceOf(UsernameAlreadyUsedException.class);
+    }
+
+    @Test
+    @Transactional
+    void assertThatDuplicateEmailViolationIsMappedFromTheDatabase() {
+        userRepository.saveAndFlush(userEntity);
+        UserEntity duplicate = copy(userEntity);
+        duplicate.setLogin("other");
+
+        DataIntegrityViolationException violation = catchThrowableOfType(
+            () -> userRepository.saveAndFlush(duplicate),
+            DataIntegrityViolationException.class
+        );
+
+        assertThat(UserApplicationService.alreadyUsed(violation)).isInstanceOf(EmailAlreadyUsedException.class);
+    }
+
     @Test
     @Transactional
     void assertThatUserMustExistToResetPassword() {
@@ -160,13 +205,35 @@ class UserApplicationServiceIT {
         dbUserEntity.setCreatedDate(now.minus(4, ChronoUnit.DAYS));
         userRepository.saveAndFlush(userEntity);
         Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
-        List<UserEntity> userEntities = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
+        List<UserEntity> userEntities = userRepository.findAllByActivatedIsFalseAndActivationKeyHashIsNotNullAndCreatedDateBefore(
+            threeDaysAgo
+        );
         assertThat(userEntities).isNotEmpty();
         userApplicationService.removeNotActivatedUsers();
-        userEntities = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
+        userEntities = userRepository.findAllByActivatedIsFalseAndActivationKeyHashIsNotNullAndCreatedDateBefore(threeDaysAgo);
         assertThat(userEntities).isEmpty();
     }
 
+    @Test
+    @Transactional
+    void assertThatNotActivatedUsersAreDeletedWithTheirAuthorities() {
+        Instant now = Instant.now();
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+        userEntity.setActivated(false);
+        userEntity.setActivationKey(RandomStringUtils.random(20));
+        userEntity.setAuthorities(new HashSet<>(Set.of(authorityRepository.getOne(AuthoritiesConstants.USER))));
+        UserEntity dbUserEntity = userRepository.saveAndFlush(userEntity);
+        dbUserEntity.setCreatedDate(now.minus(4, ChronoUnit.DAYS));
+        userRepository.saveAndFlush(userEntity);
+        double deleted = meterRegistry.get("users.purge.deleted").counter().count();
+
+        userApplicationService.removeNotActivatedUsers();
+
+        assertThat(userRepository.findOneByLogin(DEFAULT_LOGIN)).isEmpty();
+        assertThat(meterRegistry.get("users.purge.deleted").counter().count()).isEqualTo(deleted + 1);
+        assertThat(meterRegistry.get("users.purge.duration").timer().count()).isPositive();
+    }
+
     @Test
     @Transactional
     void assertThatNotActivatedUsersWithNullActivationKeyCreatedBefore3DaysAreNotDeleted() {
@@ -177,7 +244,9 @@ class UserApplicationServiceIT {
         dbUserEntity.setCreatedDate(now.minus(4, ChronoUnit.DAYS));
         userRepository.saveAndFlush(userEntity);
         Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
-        List<UserEntity> userEntities = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
+        List<UserEntity> userEntities = userRepository.findAllByActivatedIsFalseAndActivationKeyHashIsNotNullAndCreatedDateBefore(
+            threeDaysAgo
+        );
         assertThat(userEntities).isEmpty();
         userApplicationService.removeNotActivatedUsers();
         Optional<UserEntity> maybeDbUser = userRepository.findById(dbUserEntity.getId());
@@ -195,4 +264,14 @@ class UserApplicationServiceIT {
         final Page<UserDTO> allManagedUsers = userApplicationService.getAllManagedUsers(pageable);
         assertThat(allManagedUsers.getContent().stream().noneMatch(user -> Constants.ANONYMOUS_USER.equals(user.getLogin()))).isTrue();
     }
+
+    private static UserEntity copy(UserEntity source) {
+        UserEntity copy = new UserEntity();
+        copy.setLogin(source.getLogin());
+        copy.setPassword(source.getPassword());
+        copy.setActivated(source.isActivated());
+        copy.setEmail(source.getEmail());
+        copy.setLangKey(source.getLangKey());
+        return copy;
+    }
 }
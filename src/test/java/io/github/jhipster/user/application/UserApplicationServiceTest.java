@@ -0,0 +1,66 @@
+package io.github.jhipster.user.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.user.application.error.UsernameAlreadyUsedException;
+import io.github.jhipster.user.domain.EmailAlreadyUsedException;
+import java.sql.SQLException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class UserApplicationServiceTest {
+
+    @Test
+    void testMapLoginViolationFromPostgresql() {
+        DataIntegrityViolationException violation = violation("ux_user_login");
+
+        assertThat(UserApplicationService.alreadyUsed(violation)).isInstanceOf(UsernameAlreadyUsedException.class);
+    }
+
+    @Test
+    void testMapEmailViolationFromPostgresql() {
+        DataIntegrityViolationException violation = violation("ux_user_email");
+
+        assertThat(UserApplicationService.alreadyUsed(violation)).isInstanceOf(EmailAlreadyUsedException.class);
+    }
+
+    @Test
+    void testMapLoginViolationFromH2() {
+        DataIntegrityViolationException violation = violation(
+            "\"PUBLIC.UX_USER_LOGIN_INDEX_3 ON PUBLIC.JHI_USER(LOGIN) VALUES 2\"; SQL statement:\ninsert into jhi_user"
+        );
+
+        assertThat(UserApplicationService.alreadyUsed(violation)).isInstanceOf(UsernameAlreadyUsedException.class);
+    }
+
+    @Test
+    void testMapEmailViolationFromH2() {
+        DataIntegrityViolationException violation = violation(
+            "\"PUBLIC.UX_USER_EMAIL_INDEX_8 ON PUBLIC.JHI_USER(EMAIL) VALUES 5\"; SQL statement:\ninsert into jhi_user"
+        );
+
+        assertThat(UserApplicationService.alreadyUsed(violation)).isInstanceOf(EmailAlreadyUsedException.class);
+    }
+
+    @Test
+    void testKeepViolationsOfConstraintsNamedLikeTheUserOnes() {
+        DataIntegrityViolationException violation = violation("ux_user_login_history");
+
+        assertThat(UserApplicationService.alreadyUsed(violation)).isSameAs(violation);
+    }
+
+    @Test
+    void testKeepOtherViolations() {
+        DataIntegrityViolationException violation = violation(null);
+
+        assertThat(UserApplicationService.alreadyUsed(violation)).isSameAs(violation);
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException(
+            "could not execute statement",
+            new ConstraintViolationException("could not execute statement", new SQLException("violation"), constraintName)
+        );
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.jhipster.user.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class UserCachesTest {
+
+    private UserPrincipalIndex userPrincipalIndex;
+
+    private VerifiedCredentialCache verifiedCredentialCache;
+
+    private KnownPrincipalsFilter knownPrincipalsFilter;
+
+    private Cache secondLevelCache;
+
+    private RecordingBus invalidationBus;
+
+    private UserCaches userCaches;
+
+    private UserEntity userEntity;
+
+    @BeforeEach
+    public void setup() {
+        userPrincipalIndex = mock(UserPrincipalIndex.class);
+        verifiedCredentialCache = mock(VerifiedCredentialCache.class);
+        knownPrincipalsFilter = mock(KnownPrincipalsFilter.class);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        secondLevelCache = mock(Cache.class);
+        when(secondLevelCache.unwrap(Cache.class)).thenReturn(secondLevelCache);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        invalidationBus = new RecordingBus();
+        userCaches = new UserCaches(userPrincipalIndex, verifiedCredentialCache, knownPrincipalsFilter, entityManagerFactory, invalidationBus);
+
+        userEntity = new UserEntity();
+        userEntity.setId(42L);
+        userEntity.setLogin("john");
+        userEntity.setEmail("john.doe@localhost");
+    }
+
+    @AfterEach
+    public void teardown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testEvictLocallyAndPublish() {
+        userCaches.evict(userEntity);
+
+        verify(userPrincipalIndex).evict("john", "john.doe@localhost");
+        verify(verifiedCredentialCache).evict("john");
+        verify(secondLevelCache).evict(UserEntity.class, 42L);
+        verify(secondLevelCache).evictCollectionData(UserEntity.class.getName() + ".authorities", 42L);
+        assertThat(invalidationBus.published).containsExactly(new UserCacheInvalidation(42L, "john", "john.doe@localhost"));
+    }
+
+    @Test
+    void testPublishAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        userCaches.evict(userEntity);
+
+        verify(userPrincipalIndex).evict("john", "john.doe@localhost");
+        assertThat(invalidationBus.published).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(userPrincipalIndex, times(2)).evict("john", "john.doe@localhost");
+        assertThat(invalidationBus.published).hasSize(1);
+    }
+
+    @Test
+    void testEvictOnRemoteInvalidation() {
+        invalidationBus.receive(new UserCacheInvalidation(7L, "jane", "jane.doe@localhost"));
+
+        verify(userPrincipalIndex).evict("jane", "jane.doe@localhost");
+        verify(verifiedCredentialCache).evict("jane");
+        verify(secondLevelCache).evict(UserEntity.class, 7L);
+        verify(secondLevelCache).evictCollectionData(UserEntity.class.getName() + ".authorities", 7L);
+        verify(knownPrincipalsFilter).add("jane");
+        verify(knownPrincipalsFilter).add("jane.doe@localhost");
+    }
+
+    private static class RecordingBus implements UserCacheInvalidationBus {
+
+        private final List<UserCacheInvalidation> published = new ArrayList<>();
+
+        private final List<Consumer<UserCacheInvalidation>> subscribers = new ArrayList<>();
+
+        @Override
+        public void publish(UserCacheInvalidation invalidation) {
+            published.add(invalidation);
+        }
+
+        @Override
+        public void subscribe(Consumer<UserCacheInvalidation> subscriber) {
+            subscribers.add(subscriber);
+        }
+
+        void receive(UserCacheInvalidation invalidation) {
+            subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.jhipster.user.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class UserCursorTest {
+
+    @Test
+    void testEncodeAndDecode() {
+        UserDTO user = new UserDTO();
+        user.setId(42L);
+        user.setLogin("john");
+        user.setEmail("john,jr@localhost");
+
+        UserCursor cursor = UserCursor.first("email", Sort.Direction.DESC).after(user);
+        Optional<UserCursor> decoded = UserCursor.decode(cursor.encode());
+
+        assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+        assertThat(decoded).isPresent();
+        assertThat(decoded.get().getProperty()).isEqualTo("email");
+        assertThat(decoded.get().getDirection()).isEqualTo(Sort.Direction.DESC);
+        assertThat(decoded.get().getValue()).isEqualTo("john,jr@localhost");
+        assertThat(decoded.get().getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void testDecodeTypedValues() {
+        UserDTO user = new UserDTO();
+        user.setId(42L);
+        user.setLogin("john");
+
+        assertThat(UserCursor.decode(UserCursor.first("id", Sort.Direction.ASC).after(user).encode()).map(UserCursor::getValue))
+            .contains(42L);
+        assertThat(UserCursor.decode(UserCursor.first("login", Sort.Direction.ASC).after(user).encode()).map(UserCursor::getValue))
+            .contains("john");
+        Optional<UserCursor> withoutEmail = UserCursor.decode(UserCursor.first("email", Sort.Direction.ASC).after(user).encode());
+        assertThat(withoutEmail).isPresent();
+        assertThat(withoutEmail.get().getValue()).isNull();
+        assertThat(withoutEmail.get().getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void testDecodeInvalidCursor() {
+        assertThat(UserCursor.decode("not a cursor")).isEmpty();
+        assertThat(UserCursor.decode("aW52YWxpZA")).isEmpty();
+        assertThat(UserCursor.decode(UserCursor.first("password", Sort.Direction.ASC).encode())).isEmpty();
+        assertThat(UserCursor.decode(UserCursor.first("lastName", Sort.Direction.ASC).encode())).isEmpty();
+        assertThat(UserCursor.supports("lastName")).isFalse();
+    }
+}
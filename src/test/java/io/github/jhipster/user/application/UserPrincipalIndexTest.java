@@ -0,0 +1,262 @@
+package io.github.jhipster.user.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.jhipster.common.domain.AuthoritiesConstants;
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.user.infrastructure.secondary.database.AuthorityEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class UserPrincipalIndexTest {
+
+    private static final long NOW = 1606816800000L;
+
+    private UserRepository userRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private Clock clock;
+
+    private UserPrincipalIndex userPrincipalIndex;
+
+    private UserEntity userEntity;
+
+    @BeforeEach
+    public void setup() {
+        userRepository = mock(UserRepository.class);
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(NOW);
+        userPrincipalIndex = userPrincipalIndex(Runnable::run);
+        userEntity = user(1L, "john", "john.doe@localhost");
+    }
+
+    @Test
+    void testLoadOnceForLoginAndEmail() {
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("john")).thenReturn(Collections.singletonList(userEntity));
+
+        Optional<UserPrincipal> byLogin = userPrincipalIndex.find("John");
+        Optional<UserPrincipal> byEmail = userPrincipalIndex.find("John.Doe@localhost");
+
+        assertThat(byLogin).isPresent();
+        assertThat(byLogin.get().getLogin()).isEqualTo("john");
+        assertThat(byLogin.get().getAuthorities()).containsExactly(AuthoritiesConstants.USER);
+        assertThat(byEmail.get()).isSameAs(byLogin.get());
+        verify(userRepository, times(1)).findAllWithAuthoritiesByLoginOrEmail(anyString());
+    }
+
+    @Test
+    void testPreferEmailMatch() {
+        UserEntity loginLikeEmail = user(2L, "john.doe@localhost", "other@localhost");
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("john.doe@localhost"))
+            .thenReturn(Arrays.asList(loginLikeEmail, userEntity));
+
+        assertThat(userPrincipalIndex.find("john.doe@localhost")).map(UserPrincipal::getLogin).contains("john");
+    }
+
+    @Test
+    void testReadLoginContainingAtFromCacheWhenNoUserOwnsTheEmail() {
+        UserEntity loginLikeEmail = user(2L, "john.doe@localhost", "other@localhost");
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("john.doe@localhost")).thenReturn(Arrays.asList(loginLikeEmail));
+
+        Optional<UserPrincipal> loaded = userPrincipalIndex.find("john.doe@localhost");
+        Optional<UserPrincipal> cached = userPrincipalIndex.find("John.Doe@localhost");
+
+        assertThat(loaded).map(UserPrincipal::getLogin).contains("john.doe@localhost");
+        assertThat(cached.get()).isSameAs(loaded.get());
+        verify(userRepository, times(1)).findAllWithAuthoritiesByLoginOrEmail(anyString());
+    }
+
+    @Test
+    void testReloadLoginContainingAtOnceAUserTakesTheEmail() {
+        UserEntity loginLikeEmail = user(2L, "john.doe@localhost", "other@localhost");
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("john.doe@localhost"))
+            .thenReturn(Arrays.asList(loginLikeEmail))
+            .thenReturn(Arrays.asList(loginLikeEmail, userEntity));
+
+        userPrincipalIndex.find("john.doe@localhost");
+        userPrincipalIndex.evict("john", "john.doe@localhost");
+
+        assertThat(userPrincipalIndex.find("john.doe@localhost")).map(UserPrincipal::getLogin).contains("john");
+        verify(userRepository, times(2)).findAllWithAuthoritiesByLoginOrEmail(anyString());
+    }
+
+    @Test
+    void testFindByLoginIgnoreEmailMatch() {
+        UserEntity loginLikeEmail = user(2L, "john.doe@localhost", "other@localhost");
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("john.doe@localhost"))
+            .thenReturn(Arrays.asList(userEntity, loginLikeEmail));
+
+        assertThat(userPrincipalIndex.find("john.doe@localhost")).map(UserPrincipal::getLogin).contains("john");
+        assertThat(userPrincipalIndex.findByLogin("john.doe@localhost")).map(UserPrincipal::getLogin).contains("john.doe@localhost");
+    }
+
+    @Test
+    void testKeepEmailOwnerWhenLoginEqualsAnotherEmail() {
+        UserEntity loginLikeEmail = user(2L, "john.doe@localhost", "other@localhost");
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("john")).thenReturn(Collections.singletonList(userEntity));
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("john.doe@localhost"))
+            .thenReturn(Arrays.asList(userEntity, loginLikeEmail));
+        userPrincipalIndex.find("john");
+
+        assertThat(userPrincipalIndex.findByLogin("john.doe@localhost")).map(UserPrincipal::getLogin).contains("john.doe@localhost");
+
+        assertThat(userPrincipalIndex.find("john.doe@localhost")).map(UserPrincipal::getLogin).contains("john");
+        assertThat(userPrincipalIndex.findByLogin("john.doe@localhost")).map(UserPrincipal::getLogin).contains("john.doe@localhost");
+        verify(userRepository, times(1)).findAllWithAuthoritiesByLoginOrEmail("john.doe@localhost");
+    }
+
+    @Test
+    void testShareAuthoritiesBetweenSnapshots() {
+        UserEntity other = user(2L, "jane", "jane.doe@localhost");
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("john")).thenReturn(Collections.singletonList(userEntity));
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("jane")).thenReturn(Collections.singletonList(other));
+
+        UserPrincipal john = userPrincipalIndex.find("john").orElseThrow();
+        UserPrincipal jane = userPrincipalIndex.find("jane").orElseThrow();
+
+        assertThat(jane.getAuthorities()).isSameAs(john.getAuthorities());
+    }
+
+    @Test
+    void testDoNotCacheUnknownPrincipal() {
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("unknown")).thenReturn(Collections.emptyList());
+
+        assertThat(userPrincipalIndex.find("unknown")).isEmpty();
+        assertThat(userPrincipalIndex.find("unknown")).isEmpty();
+
+        verify(userRepository, times(2)).findAllWithAuthoritiesByLoginOrEmail("unknown");
+    }
+
+    @Test
+    void testEvictBothKeys() {
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail(anyString())).thenReturn(Collections.singletonList(userEntity));
+        userPrincipalIndex.find("john");
+
+        userPrincipalIndex.evict(userEntity);
+        userPrincipalIndex.find("john.doe@localhost");
+
+        verify(userRepository, times(1)).findAllWithAuthoritiesByLoginOrEmail("john");
+        verify(userRepository, times(1)).findAllWithAuthoritiesByLoginOrEmail("john.doe@localhost");
+        verify(userRepository, never()).findOneWithAuthoritiesByLogin(anyString());
+    }
+
+    @Test
+    void testCoalesceConcurrentLoads() throws Exception {
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("john"))
+            .thenAnswer(
+                invocation -> {
+                    queryStarted.countDown();
+                    releaseQuery.await(5, TimeUnit.SECONDS);
+                    return Collections.singletonList(userEntity);
+                }
+            );
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<UserPrincipal>> first = executor.submit(() -> userPrincipalIndex.find("john"));
+            assertThat(queryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Optional<UserPrincipal>> second = executor.submit(() -> userPrincipalIndex.findByLogin("john"));
+            while (meterRegistry.get("cache.principals.loads").tag("result", "coalesced").counter().count() < 1) {
+                Thread.sleep(10);
+            }
+            releaseQuery.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+            assertThat(second.get(5, TimeUnit.SECONDS)).isPresent();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(userRepository, times(1)).findAllWithAuthoritiesByLoginOrEmail("john");
+        assertThat(meterRegistry.get("cache.principals.loads.coalesced.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRefreshStaleEntryAhead() {
+        applicationProperties.getCache().getPrincipals().setRefreshAfterSeconds(60);
+        List<Runnable> refreshTasks = new ArrayList<>();
+        userPrincipalIndex = userPrincipalIndex(refreshTasks::add);
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("john")).thenReturn(Collections.singletonList(userEntity));
+        UserPrincipal loaded = userPrincipalIndex.find("john").orElseThrow();
+
+        when(clock.millis()).thenReturn(NOW + 30000);
+        userPrincipalIndex.find("john");
+        assertThat(refreshTasks).isEmpty();
+
+        when(clock.millis()).thenReturn(NOW + 61000);
+        assertThat(userPrincipalIndex.find("john")).containsSame(loaded);
+        assertThat(refreshTasks).hasSize(1);
+        refreshTasks.get(0).run();
+
+        UserPrincipal refreshed = userPrincipalIndex.find("john.doe@localhost").orElseThrow();
+        assertThat(refreshed).isNotSameAs(loaded);
+        verify(userRepository, times(2)).findAllWithAuthoritiesByLoginOrEmail("john");
+        assertThat(meterRegistry.get("cache.principals.loads").tag("result", "refreshed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testEvictDeletedUserOnRefresh() {
+        applicationProperties.getCache().getPrincipals().setRefreshAfterSeconds(60);
+        userPrincipalIndex = userPrincipalIndex(Runnable::run);
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("john")).thenReturn(Collections.singletonList(userEntity));
+        userPrincipalIndex.find("john");
+
+        when(userRepository.findAllWithAuthoritiesByLoginOrEmail("john")).thenReturn(Collections.emptyList());
+        when(clock.millis()).thenReturn(NOW + 61000);
+        userPrincipalIndex.find("john");
+
+        assertThat(userPrincipalIndex.find("john")).isEmpty();
+    }
+
+    private UserPrincipalIndex userPrincipalIndex(Executor refreshExecutor) {
+        return new UserPrincipalIndex(
+            userRepository,
+            new ConcurrentMapCacheManager(UserPrincipalIndex.PRINCIPALS_CACHE),
+            applicationProperties,
+            meterRegistry,
+            refreshExecutor,
+            clock
+        );
+    }
+
+    private static UserEntity user(Long id, String login, String email) {
+        AuthorityEntity authority = new AuthorityEntity();
+        authority.setName(AuthoritiesConstants.USER);
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setLogin(login);
+        user.setEmail(email);
+        user.setPassword("$2a$10$password");
+        user.setActivated(true);
+        user.setAuthorities(Collections.singleton(authority));
+        return user;
+    }
+}
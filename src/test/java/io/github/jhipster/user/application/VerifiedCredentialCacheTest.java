@@ -0,0 +1,96 @@
+package io.github.jhipster.user.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.common.infrastructure.config.TestCacheManagers;
+import java.time.Clock;
+import java.time.Instant;
+import javax.cache.CacheManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VerifiedCredentialCacheTest {
+
+    private static final Instant NOW = Instant.parse("2020-12-01T10:00:00Z");
+
+    private static final String PASSWORD_HASH = "$2a$10$gSAhZrxMllrbgj/kkK9UceBPpChGWJA7SYIb1Mqo.n5aNLq1/oRrC";
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getAuthentication().getCredentialCache().setEnabled(true);
+        applicationProperties.getSecurity().getAuthentication().getCredentialCache().setTimeToLiveSeconds(60);
+        cacheManager = TestCacheManagers.configured("verified-credential-cache-test", applicationProperties);
+    }
+
+    @AfterEach
+    public void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void testNotVerifiedWhenDisabled() {
+        applicationProperties.getSecurity().getAuthentication().getCredentialCache().setEnabled(false);
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(applicationProperties, cacheManager);
+
+        cache.put("user", "password", PASSWORD_HASH);
+
+        assertThat(cache.isVerified("user", "password", PASSWORD_HASH)).isFalse();
+    }
+
+    @Test
+    void testVerifiedWithSameCredentials() {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(applicationProperties, cacheManager);
+
+        cache.put("user", "password", PASSWORD_HASH);
+
+        assertThat(cache.isVerified("user", "password", PASSWORD_HASH)).isTrue();
+    }
+
+    @Test
+    void testNotVerifiedWithOtherPassword() {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(applicationProperties, cacheManager);
+
+        cache.put("user", "password", PASSWORD_HASH);
+
+        assertThat(cache.isVerified("user", "other-password", PASSWORD_HASH)).isFalse();
+    }
+
+    @Test
+    void testNotVerifiedWhenPasswordHashChanged() {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(applicationProperties, cacheManager);
+
+        cache.put("user", "password", PASSWORD_HASH);
+
+        assertThat(cache.isVerified("user", "password", "$2a$10$VEjxo0jq2YG9Rbk2HmX9S.k1uZBGYUHdUcid3g/vfiEl7lwWgOH/K")).isFalse();
+    }
+
+    @Test
+    void testNotVerifiedAfterEviction() {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(applicationProperties, cacheManager);
+
+        cache.put("user", "password", PASSWORD_HASH);
+        cache.evict("user");
+
+        assertThat(cache.isVerified("user", "password", PASSWORD_HASH)).isFalse();
+    }
+
+    @Test
+    void testNotVerifiedAfterTimeToLive() {
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(61));
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(applicationProperties, cacheManager, clock);
+
+        cache.put("user", "password", PASSWORD_HASH);
+
+        assertThat(cache.isVerified("user", "password", PASSWORD_HASH)).isFalse();
+    }
+}
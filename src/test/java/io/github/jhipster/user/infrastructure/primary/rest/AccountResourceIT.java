@@ -107,6 +107,10 @@ class AccountResourceIT {
             .andExpect(jsonPath("$.email").value("john.doe@jhipster.com"))
             .andExpect(jsonPath("$.imageUrl").value("http://placehold.it/50x50"))
             .andExpect(jsonPath("$.langKey").value("en"))
+            .andExpect(jsonPath("$.createdBy").isNotEmpty())
+            .andExpect(jsonPath("$.createdDate").isNotEmpty())
+            .andExpect(jsonPath("$.lastModifiedBy").isNotEmpty())
+            .andExpect(jsonPath("$.lastModifiedDate").isNotEmpty())
             .andExpect(jsonPath("$.authorities").value(AuthoritiesConstants.ADMIN));
     }
 
@@ -1,26 +1,36 @@
 package io.github.jhipster.user.infrastructure.primary.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import io.github.jhipster.JhipsterMinimalApp;
+import io.github.jhipster.common.domain.AuthoritiesConstants;
 import io.github.jhipster.common.infrastructure.primary.LoginVM;
 import io.github.jhipster.common.infrastructure.primary.TestUtil;
 import io.github.jhipster.common.infrastructure.primary.UserJWTController;
+import io.github.jhipster.common.infrastructure.primary.jwt.VerifiedTokenCache;
+import io.github.jhipster.user.application.VerifiedCredentialCache;
+import io.github.jhipster.user.infrastructure.secondary.database.AuthorityRepository;
 import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
 import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import java.util.Collections;
+import javax.cache.CacheManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,17 +39,29 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @AutoConfigureMockMvc
 @SpringBootTest(classes = JhipsterMinimalApp.class)
+@TestPropertySource(
+    properties = {
+        "application.security.authentication.jwt.cache.enabled=true",
+        "application.security.authentication.credential-cache.enabled=true",
+    }
+)
 class UserEntityJWTControllerIT {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Test
     @Transactional
     void testAuthorize() throws Exception {
@@ -63,6 +85,29 @@ class UserEntityJWTControllerIT {
             .andExpect(header().string("Authorization", not(is(emptyString()))));
     }
 
+    @Test
+    @Transactional
+    void testAuthorizeUpgradesLegacyPasswordHash() throws Exception {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setLogin("user-jwt-controller-legacy-hash");
+        userEntity.setEmail("user-jwt-controller-legacy-hash@example.com");
+        userEntity.setActivated(true);
+        userEntity.setPassword(new BCryptPasswordEncoder().encode("test"));
+
+        userRepository.saveAndFlush(userEntity);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-legacy-hash");
+        login.setPassword("test");
+        mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login)))
+            .andExpect(status().isOk());
+
+        String passwordHash = userRepository.findOneByLogin("user-jwt-controller-legacy-hash").get().getPassword();
+        assertThat(passwordHash).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches("test", passwordHash)).isTrue();
+    }
+
     @Test
     @Transactional
     void testAuthorizeWithRememberMe() throws Exception {
@@ -87,6 +132,71 @@ class UserEntityJWTControllerIT {
             .andExpect(header().string("Authorization", not(is(emptyString()))));
     }
 
+    @Test
+    @Transactional
+    void testServeRepeatedTokensFromVerifiedTokenCache() throws Exception {
+        cacheManager.getCache(VerifiedTokenCache.CACHE_NAME).clear();
+        UserEntity userEntity = new UserEntity();
+        userEntity.setLogin("user-jwt-controller-token-cache");
+        userEntity.setEmail("user-jwt-controller-token-cache@example.com");
+        userEntity.setActivated(true);
+        userEntity.setPassword(passwordEncoder.encode("test"));
+        userEntity.setAuthorities(Collections.singleton(authorityRepository.findById(AuthoritiesConstants.USER).get()));
+
+        userRepository.saveAndFlush(userEntity);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-token-cache");
+        login.setPassword("test");
+        String authorization = mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login)))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader("Authorization");
+
+        mockMvc
+            .perform(get("/api/account").header("Authorization", authorization))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.login").value("user-jwt-controller-token-cache"));
+        mockMvc
+            .perform(get("/api/account").header("Authorization", authorization))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.login").value("user-jwt-controller-token-cache"));
+
+        assertThat(cacheManager.getCache(VerifiedTokenCache.CACHE_NAME)).hasSize(1);
+        mockMvc.perform(get("/api/account").header("Authorization", authorization + "x")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @Transactional
+    void testAuthorizeFromVerifiedCredentialCache() throws Exception {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setLogin("user-jwt-controller-credential-cache");
+        userEntity.setEmail("user-jwt-controller-credential-cache@example.com");
+        userEntity.setActivated(true);
+        userEntity.setPassword(passwordEncoder.encode("test"));
+
+        userRepository.saveAndFlush(userEntity);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-credential-cache");
+        login.setPassword("test");
+        mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login)))
+            .andExpect(status().isOk());
+        assertThat(cacheManager.getCache(VerifiedCredentialCache.CACHE_NAME).containsKey("user-jwt-controller-credential-cache")).isTrue();
+        mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id_token").isNotEmpty());
+
+        login.setPassword("wrong password");
+        mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login)))
+            .andExpect(status().isUnauthorized());
+    }
+
     @Test
     void testAuthorizeFails() throws Exception {
         LoginVM login = new LoginVM();
@@ -1,20 +1,28 @@
 package io.github.jhipster.user.infrastructure.primary.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import io.github.jhipster.JhipsterMinimalApp;
 import io.github.jhipster.common.domain.AuthoritiesConstants;
 import io.github.jhipster.common.infrastructure.primary.TestUtil;
+import io.github.jhipster.common.infrastructure.secondary.SqlStatementCounter;
+import io.github.jhipster.user.application.UserPrincipalIndex;
 import io.github.jhipster.user.application.mapper.UserMapper;
 import io.github.jhipster.user.infrastructure.primary.dto.ManagedUserDTO;
 import io.github.jhipster.user.infrastructure.primary.dto.UserDTO;
 import io.github.jhipster.user.infrastructure.secondary.database.AuthorityEntity;
 import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
 import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import io.github.jhipster.user.infrastructure.secondary.smtp.MailService;
 import java.time.Instant;
 import java.util.*;
 import java.util.function.Consumer;
@@ -26,9 +34,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.util.AopTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -74,6 +85,9 @@ class UserEntityResourceIT {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private MailService mailService;
+
     @Autowired
     private MockMvc restUserMockMvc;
 
@@ -81,8 +95,7 @@ class UserEntityResourceIT {
 
     @BeforeEach
     public void setup() {
-        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
-        cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
+        cacheManager.getCache(UserPrincipalIndex.PRINCIPALS_CACHE).clear();
     }
 
     /**
@@ -246,6 +259,39 @@ class UserEntityResourceIT {
             .andExpect(jsonPath("$.[*].langKey").value(hasItem(DEFAULT_LANGKEY)));
     }
 
+    @Test
+    @Transactional
+    void getAllUsersWithConstantStatementCount() throws Exception {
+        // Initialize the database with more users than a page
+        for (int i = 0; i < 3; i++) {
+            userRepository.save(createEntity(em));
+        }
+        userRepository.flush();
+        em.clear();
+        SqlStatementCounter sqlStatementCounter = new SqlStatementCounter(em.getEntityManagerFactory());
+
+        // page, count and authorities
+        assertThat(
+            sqlStatementCounter.count(
+                () ->
+                    restUserMockMvc
+                        .perform(get("/api/users?sort=id,desc&size=5").accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+            )
+        )
+            .isEqualTo(3);
+        // page and authorities
+        assertThat(
+            sqlStatementCounter.count(
+                () ->
+                    restUserMockMvc
+                        .perform(get("/api/users?sort=login,asc&size=5&count=false&cursor=").accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+            )
+        )
+            .isEqualTo(2);
+    }
+
     @Test
     @Transactional
     void getAllUsersSortedByParameters() throws Exception {
@@ -260,14 +306,175 @@ class UserEntityResourceIT {
         restUserMockMvc.perform(get("/api/users?sort=id,desc").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
     }
 
+    @Test
+    @Transactional
+    void getAllUsersByKeyset() throws Exception {
+        // Initialize the database with users with and without email
+        List<String> logins = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            UserEntity user = createEntity(em);
+            if (i % 2 == 0) {
+                user.setEmail(null);
+            }
+            userRepository.saveAndFlush(user);
+            logins.add(user.getLogin());
+        }
+        long managedUsers = userRepository.count() - 1;
+
+        for (String sort : List.of("id,desc", "login,asc", "email,asc", "email,desc")) {
+            List<String> pagedLogins = new ArrayList<>();
+            String url = "/api/users?sort=" + sort + "&size=2&count=false&cursor=";
+            while (url != null) {
+                MvcResult result = restUserMockMvc
+                    .perform(get(url).accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("X-Total-Count"))
+                    .andReturn();
+                pagedLogins.addAll(JsonPath.<List<String>>read(result.getResponse().getContentAsString(), "$[*].login"));
+                String link = result.getResponse().getHeader(HttpHeaders.LINK);
+                url = link == null ? null : link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+            }
+
+            assertThat(pagedLogins).as(sort).hasSize((int) managedUsers).doesNotHaveDuplicates().containsAll(logins);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllUsersByKeysetWithCount() throws Exception {
+        userRepository.saveAndFlush(userEntity);
+
+        restUserMockMvc
+            .perform(get("/api/users?sort=login,desc&size=1&cursor=").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", Long.toString(userRepository.count() - 1)))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")));
+    }
+
+    @Test
+    @Transactional
+    void getAllUsersWithInvalidCursor() throws Exception {
+        restUserMockMvc.perform(get("/api/users?cursor=invalid").accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+        restUserMockMvc
+            .perform(get("/api/users?sort=login,asc&sort=id,asc&cursor=").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+        restUserMockMvc
+            .perform(get("/api/users?sort=lastName,asc&cursor=").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void exportUsersAsNdjson() throws Exception {
+        userRepository.saveAndFlush(userEntity);
+
+        MvcResult result = restUserMockMvc
+            .perform(get("/api/export/users"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize((int) userRepository.count() - 1);
+        assertThat(lines)
+            .anySatisfy(
+                line -> {
+                    assertThat(JsonPath.<String>read(line, "$.login")).isEqualTo(DEFAULT_LOGIN);
+                    assertThat(JsonPath.<String>read(line, "$.email")).isEqualTo(DEFAULT_EMAIL);
+                }
+            );
+    }
+
+    @Test
+    @Transactional
+    void exportUsersAsCsv() throws Exception {
+        userEntity.setLastName("doe, \"jr\"");
+        userRepository.saveAndFlush(userEntity);
+
+        MvcResult result = restUserMockMvc
+            .perform(get("/api/export/users?format=csv"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\r\n");
+        assertThat(lines[0]).startsWith("id,login,firstName,lastName,email");
+        assertThat(lines).hasSize((int) userRepository.count());
+        assertThat(lines).anyMatch(line -> line.startsWith(userEntity.getId() + "," + DEFAULT_LOGIN + ",john,\"doe, \"\"jr\"\"\","));
+    }
+
+    @Test
+    @Transactional
+    void exportUsersWithUnsupportedFormat() throws Exception {
+        restUserMockMvc.perform(get("/api/export/users?format=xml")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void importUsersFromNdjson() throws Exception {
+        userRepository.saveAndFlush(userEntity);
+        String body = String.join(
+            "\n",
+            "{\"login\":\"imported-1\",\"email\":\"imported-1@example.com\",\"authorities\":[\"" + AuthoritiesConstants.USER + "\"]}",
+            "",
+            "{\"login\":\"imported 2\"}",
+            "{\"login\":\"" + DEFAULT_LOGIN + "\"}",
+            "{\"login\":\"imported-3\",\"authorities\":[\"ROLE_UNKNOWN\"]}",
+            "not json",
+            "{\"login\":\"Imported-1\"}"
+        );
+
+        restUserMockMvc
+            .perform(post("/api/import/users").contentType("application/x-ndjson").content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(1))
+            .andExpect(jsonPath("$.failed").value(5))
+            .andExpect(jsonPath("$.rows[*].line").value(contains(1, 3, 4, 5, 6, 7)))
+            .andExpect(jsonPath("$.rows[*].status").value(contains("CREATED", "FAILED", "FAILED", "FAILED", "FAILED", "FAILED")))
+            .andExpect(jsonPath("$.rows[2].message").value("Login name already used!"))
+            .andExpect(jsonPath("$.rows[3].message").value("Unknown authority ROLE_UNKNOWN"))
+            .andExpect(jsonPath("$.rows[5].message").value("Login name already used!"));
+
+        UserEntity imported = userRepository.findOneWithAuthoritiesByLogin("imported-1").get();
+        assertThat(imported.isActivated()).isTrue();
+        assertThat(imported.getResetKeyHash()).isNotNull();
+        assertThat(imported.getLangKey()).isEqualTo("en");
+        assertThat(imported.getAuthorities()).extracting(AuthorityEntity::getName).containsExactly(AuthoritiesConstants.USER);
+        // the mail service bean is proxied for @Async
+        MailService mockMailService = AopTestUtils.getUltimateTargetObject(mailService);
+        verify(mockMailService).sendCreationEmail(argThat(user -> "imported-1".equals(user.getLogin()) && user.getResetKey() != null));
+    }
+
+    @Test
+    @Transactional
+    void importUsersFromCsv() throws Exception {
+        String body = String.join(
+            "\r\n",
+            "login,firstName,lastName,email,authorities",
+            "imported-csv,John,\"Doe, \"\"Jr\"\"\",imported-csv@example.com," + AuthoritiesConstants.USER + "|" + AuthoritiesConstants.ADMIN,
+            "imported-csv-2,John"
+        );
+
+        restUserMockMvc
+            .perform(post("/api/import/users?format=csv").contentType("text/csv").content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(1))
+            .andExpect(jsonPath("$.failed").value(1));
+
+        UserEntity imported = userRepository.findOneWithAuthoritiesByLogin("imported-csv").get();
+        assertThat(imported.getLastName()).isEqualTo("Doe, \"Jr\"");
+        assertThat(imported.getEmail()).isEqualTo("imported-csv@example.com");
+        assertThat(imported.getAuthorities())
+            .extracting(AuthorityEntity::getName)
+            .containsExactlyInAnyOrder(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN);
+    }
+
     @Test
     @Transactional
     void getUser() throws Exception {
         // Initialize the database
         userRepository.saveAndFlush(userEntity);
 
-        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(userEntity.getLogin())).isNull();
-
         // Get the user
         restUserMockMvc
             .perform(get("/api/users/{login}", userEntity.getLogin()))
@@ -279,8 +486,6 @@ class UserEntityResourceIT {
             .andExpect(jsonPath("$.email").value(DEFAULT_EMAIL))
             .andExpect(jsonPath("$.imageUrl").value(DEFAULT_IMAGEURL))
             .andExpect(jsonPath("$.langKey").value(DEFAULT_LANGKEY));
-
-        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(userEntity.getLogin())).isNotNull();
     }
 
     @Test
@@ -472,7 +677,7 @@ class UserEntityResourceIT {
             .perform(delete("/api/users/{login}", userEntity.getLogin()).accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isNoContent());
 
-        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(userEntity.getLogin())).isNull();
+        assertThat(cacheManager.getCache(UserPrincipalIndex.PRINCIPALS_CACHE).get("login:" + userEntity.getLogin())).isNull();
 
         // Validate the database is empty
         assertPersistedUsers(users -> assertThat(users).hasSize(databaseSizeBeforeDelete - 1));
@@ -0,0 +1,53 @@
+package io.github.jhipster.user.infrastructure.secondary.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.database.core.H2Database;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HashUserKeysChangeTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:hash-user-keys");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table jhi_user (id bigint primary key, activation_key varchar(64), reset_key varchar(64))");
+            statement.execute("insert into jhi_user values (1, 'activation', null), (2, null, 'reset'), (3, null, null)");
+        }
+    }
+
+    @AfterEach
+    public void teardown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void testHashTheKeysAlreadySent() throws Exception {
+        H2Database database = new H2Database();
+        database.setConnection(new JdbcConnection(connection));
+
+        new HashUserKeysChange().execute(database);
+
+        try (Statement statement = connection.createStatement(); ResultSet keys = statement.executeQuery("select * from jhi_user order by id")) {
+            assertThat(keys.next()).isTrue();
+            assertThat(keys.getString("activation_key")).isEqualTo(UserKeyHash.of("activation"));
+            assertThat(keys.getString("reset_key")).isNull();
+            assertThat(keys.next()).isTrue();
+            assertThat(keys.getString("activation_key")).isNull();
+            assertThat(keys.getString("reset_key")).isEqualTo(UserKeyHash.of("reset"));
+            assertThat(keys.next()).isTrue();
+            assertThat(keys.getString("activation_key")).isNull();
+            assertThat(keys.getString("reset_key")).isNull();
+        }
+    }
+}
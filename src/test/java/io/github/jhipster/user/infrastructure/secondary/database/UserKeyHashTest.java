@@ -0,0 +1,34 @@
+package io.github.jhipster.user.infrastructure.secondary.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class UserKeyHashTest {
+
+    @Test
+    void testHashWithSha256() {
+        assertThat(UserKeyHash.of("abc")).isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    @Test
+    void testStoreOnlyTheHashOfTheKeys() {
+        UserEntity userEntity = new UserEntity();
+
+        userEntity.setActivationKey("activation");
+        userEntity.setResetKey("reset");
+
+        assertThat(userEntity.getActivationKeyHash()).isEqualTo(UserKeyHash.of("activation"));
+        assertThat(userEntity.getResetKeyHash()).isEqualTo(UserKeyHash.of("reset"));
+    }
+
+    @Test
+    void testClearTheHashWithTheKey() {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setResetKey("reset");
+
+        userEntity.setResetKey(null);
+
+        assertThat(userEntity.getResetKeyHash()).isNull();
+    }
+}
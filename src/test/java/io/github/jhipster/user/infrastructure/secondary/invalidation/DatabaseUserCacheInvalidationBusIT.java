@@ -0,0 +1,123 @@
+package io.github.jhipster.user.infrastructure.secondary.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.JhipsterMinimalApp;
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.user.application.UserCacheInvalidation;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link DatabaseUserCacheInvalidationBus}.
+ */
+@SpringBootTest(classes = JhipsterMinimalApp.class)
+class DatabaseUserCacheInvalidationBusIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private DatabaseUserCacheInvalidationBus nodeOne;
+
+    private DatabaseUserCacheInvalidationBus nodeTwo;
+
+    private List<UserCacheInvalidation> receivedByOne;
+
+    private List<UserCacheInvalidation> receivedByTwo;
+
+    @BeforeEach
+    public void setup() {
+        nodeOne = new DatabaseUserCacheInvalidationBus(jdbcTemplate, transactionManager, new ApplicationProperties());
+        nodeTwo = new DatabaseUserCacheInvalidationBus(jdbcTemplate, transactionManager, new ApplicationProperties());
+        receivedByOne = new ArrayList<>();
+        receivedByTwo = new ArrayList<>();
+        nodeOne.subscribe(receivedByOne::add);
+        nodeTwo.subscribe(receivedByTwo::add);
+        nodeOne.poll();
+        nodeTwo.poll();
+    }
+
+    @AfterEach
+    public void teardown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.update("delete from jhi_cache_invalidation"));
+    }
+
+    @Test
+    void testDeliverToOtherNodesOnly() {
+        UserCacheInvalidation invalidation = new UserCacheInvalidation(1L, "john", "john.doe@localhost");
+
+        nodeOne.publish(invalidation);
+        nodeOne.flush();
+        nodeOne.poll();
+        nodeTwo.poll();
+
+        assertThat(receivedByOne).isEmpty();
+        assertThat(receivedByTwo).containsExactly(invalidation);
+    }
+
+    @Test
+    void testCoalesceInvalidations() {
+        UserCacheInvalidation invalidation = new UserCacheInvalidation(1L, "john", "john.doe@localhost");
+
+        nodeOne.publish(invalidation);
+        nodeOne.publish(invalidation);
+        nodeOne.publish(new UserCacheInvalidation(2L, "jane", null));
+        nodeOne.flush();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_cache_invalidation", Long.class)).isEqualTo(2);
+        nodeTwo.poll();
+        assertThat(receivedByTwo).extracting(UserCacheInvalidation::getLogin).containsExactlyInAnyOrder("john", "jane");
+    }
+
+    @Test
+    void testDeliverRowCommittedLate() {
+        UserCacheInvalidation first = new UserCacheInvalidation(1L, "john", "john.doe@localhost");
+        nodeOne.publish(first);
+        nodeOne.flush();
+        nodeTwo.poll();
+        Timestamp firstCreatedDate = jdbcTemplate.queryForObject("select max(created_date) from jhi_cache_invalidation", Timestamp.class);
+
+        // a row stamped before the first one, but committed after it was polled
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(
+                status ->
+                    jdbcTemplate.update(
+                        "insert into jhi_cache_invalidation (node_id, user_id, login, email, created_date) values (?, ?, ?, ?, ?)",
+                        "late-node",
+                        2L,
+                        "jane",
+                        null,
+                        Timestamp.from(firstCreatedDate.toInstant().minusSeconds(1))
+                    )
+            );
+        nodeTwo.poll();
+
+        assertThat(receivedByTwo).containsExactly(first, new UserCacheInvalidation(2L, "jane", null));
+    }
+
+    @Test
+    void testPurgeOldInvalidations() {
+        nodeOne.publish(new UserCacheInvalidation(1L, "john", "john.doe@localhost"));
+        nodeOne.flush();
+
+        Clock later = Clock.fixed(Instant.now().plusSeconds(601), ZoneOffset.UTC);
+        new DatabaseUserCacheInvalidationBus(jdbcTemplate, transactionManager, new ApplicationProperties(), later).purge();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_cache_invalidation", Long.class)).isZero();
+    }
+}
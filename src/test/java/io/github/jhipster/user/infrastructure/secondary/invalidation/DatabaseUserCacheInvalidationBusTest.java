@@ -0,0 +1,46 @@
+package io.github.jhipster.user.infrastructure.secondary.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.user.application.UserCacheInvalidation;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class DatabaseUserCacheInvalidationBusTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRetryInvalidationsAfterFailedFlush() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), any(int[].class)))
+            .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+            .thenReturn(new int[] { 1 });
+        DatabaseUserCacheInvalidationBus bus = new DatabaseUserCacheInvalidationBus(
+            jdbcTemplate,
+            mock(PlatformTransactionManager.class),
+            new ApplicationProperties()
+        );
+
+        bus.publish(new UserCacheInvalidation(1L, "john", "john.doe@localhost"));
+        bus.flush();
+        bus.flush();
+        bus.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture(), any(int[].class));
+        assertThat(rows.getAllValues().get(1)).hasSize(1);
+        assertThat(rows.getAllValues().get(1).get(0)[2]).isEqualTo("john");
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.jhipster.user.infrastructure.secondary.smtp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class MailKeyCipherTest {
+
+    private static final String SECRET = "OoIq+5kWbEiBtDqPX82CHd4BB4/fI62TAP+p+MlDse4=";
+
+    private static final String OTHER_SECRET = "FaRMX8tfmtZNJ1SK3ZA0NyZalLKcVlcNjvtmrj6aCkM=";
+
+    private final MailKeyCipher mailKeyCipher = new MailKeyCipher(SECRET);
+
+    @Test
+    void testDecryptEncryptedKey() {
+        String encrypted = mailKeyCipher.encrypt("key");
+
+        assertThat(encrypted).doesNotContain("key");
+        assertThat(mailKeyCipher.decrypt(encrypted)).isEqualTo("key");
+    }
+
+    @Test
+    void testEncryptWithRandomIv() {
+        assertThat(mailKeyCipher.encrypt("key")).isNotEqualTo(mailKeyCipher.encrypt("key"));
+    }
+
+    @Test
+    void testKeepNullKey() {
+        assertThat(mailKeyCipher.encrypt(null)).isNull();
+        assertThat(mailKeyCipher.decrypt(null)).isNull();
+    }
+
+    @Test
+    void testRejectKeyEncryptedWithAnotherSecret() {
+        String encrypted = new MailKeyCipher(OTHER_SECRET).encrypt("key");
+
+        assertThatThrownBy(() -> mailKeyCipher.decrypt(encrypted)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testRejectInvalidSecret() {
+        assertThatThrownBy(() -> new MailKeyCipher((String) null)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new MailKeyCipher(" ")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new MailKeyCipher("c2hvcnQ=")).isInstanceOf(IllegalStateException.class);
+    }
+}
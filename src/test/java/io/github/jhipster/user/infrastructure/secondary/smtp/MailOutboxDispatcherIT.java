@@ -0,0 +1,233 @@
+package io.github.jhipster.user.infrastructure.secondary.smtp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.JhipsterMinimalApp;
+import io.github.jhipster.common.domain.MutableClock;
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.mail.internet.MimeMessage;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.MessageSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Integration tests for {@link MailOutboxDispatcher}.
+ * <p>
+ * They are not transactional: emails are dispatched once the user change they announce has been committed.
+ */
+@SpringBootTest(classes = JhipsterMinimalApp.class)
+class MailOutboxDispatcherIT {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T10:00:00Z");
+
+    private static final String LOGIN = "mail-outbox";
+
+    private static final String RESET_KEY = "mail-outbox-reset-key";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private SpringTemplateEngine templateEngine;
+
+    @Autowired
+    private MailKeyCipher mailKeyCipher;
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    private RecordingMailSender mailSender;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MutableClock clock;
+
+    private MailOutbox mailOutbox;
+
+    private MailOutboxDispatcher dispatcher;
+
+    private UserEntity userEntity;
+
+    @BeforeEach
+    public void setup() {
+        mailSender = new RecordingMailSender();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getMail().getOutbox().setMaxAttempts(2);
+        applicationProperties.getMail().getOutbox().setInitialBackoffSeconds(30);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(NOW);
+        mailOutbox = new MailOutbox(jdbcTemplate, transactionManager, mailKeyCipher, clock);
+        MailService mailService = new MailService(jHipsterProperties, mailSender, messageSource, templateEngine, mailOutbox);
+        dispatcher =
+            new MailOutboxDispatcher(
+                mailOutbox,
+                mailService,
+                mailKeyCipher,
+                userRepository,
+                mailSender,
+                applicationProperties,
+                meterRegistry,
+                clock
+            );
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(
+                status -> {
+                    userEntity = new UserEntity();
+                    userEntity.setLogin(LOGIN);
+                    userEntity.setPassword(RandomStringUtils.random(60));
+                    userEntity.setActivated(true);
+                    userEntity.setEmail("john.doe@example.com");
+                    userEntity.setLangKey("en");
+                    userEntity.setResetKey(RESET_KEY);
+                    userRepository.saveAndFlush(userEntity);
+                    mailOutbox.enqueue(userEntity.getId(), "mail/passwordResetEmail", "email.reset.title", null, RESET_KEY);
+                }
+            );
+    }
+
+    @AfterEach
+    public void teardown() {
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(
+                status -> {
+                    jdbcTemplate.update("delete from jhi_mail_outbox");
+                    userRepository.findOneByLogin(LOGIN).ifPresent(userRepository::delete);
+                }
+            );
+    }
+
+    @Test
+    void testStoreOnlyTheEncryptedKey() {
+        String storedKey = jdbcTemplate.queryForObject("select reset_key from jhi_mail_outbox", String.class);
+
+        assertThat(storedKey).isNotEqualTo(RESET_KEY).doesNotContain(RESET_KEY);
+        assertThat(mailKeyCipher.decrypt(storedKey)).isEqualTo(RESET_KEY);
+    }
+
+    @Test
+    void testRenderSendAndDeleteDueEmails() throws Exception {
+        int sent = dispatcher.dispatch();
+
+        assertThat(sent).isEqualTo(1);
+        assertThat(mailSender.sent).hasSize(1);
+        MimeMessage message = mailSender.sent.get(0);
+        assertThat(message.getSubject()).isNotEmpty();
+        assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
+        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
+        assertThat(message.getContent().toString()).contains("/account/reset/finish?key=" + RESET_KEY);
+        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
+        assertThat(count("PENDING")).isZero();
+        assertThat(meterRegistry.get("mail.outbox.messages").tag("result", "sent").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testPollDispatchesOnlyWhenEmailsAreDue() {
+        MailOutboxPoller poller = new MailOutboxPoller(mailOutbox, dispatcher, clock);
+
+        clock.setInstant(NOW.minusSeconds(1));
+        poller.poll();
+        int attemptsBeforeDue = mailSender.attempts;
+        clock.setInstant(NOW);
+        poller.poll();
+
+        assertThat(attemptsBeforeDue).isZero();
+        assertThat(mailSender.sent).hasSize(1);
+        assertThat(mailOutbox.hasDue(NOW)).isFalse();
+    }
+
+    @Test
+    void testRetryFailedEmailsAfterBackoff() {
+        mailSender.failing = true;
+
+        dispatcher.dispatch();
+        mailSender.failing = false;
+        clock.setInstant(NOW.plusSeconds(29));
+        int sentBeforeBackoff = dispatcher.dispatch();
+        clock.setInstant(NOW.plusSeconds(30));
+        int sentAfterBackoff = dispatcher.dispatch();
+
+        assertThat(sentBeforeBackoff).isZero();
+        assertThat(sentAfterBackoff).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.outbox.messages").tag("result", "retried").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testKeepEmailsFailingTooManyTimesAsDeadWithoutTheirKeys() {
+        mailSender.failing = true;
+
+        dispatcher.dispatch();
+        clock.setInstant(NOW.plusSeconds(30));
+        dispatcher.dispatch();
+        clock.setInstant(NOW.plusSeconds(3600));
+        dispatcher.dispatch();
+
+        assertThat(count("DEAD")).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select reset_key from jhi_mail_outbox", String.class)).isNull();
+        assertThat(mailSender.attempts).isEqualTo(2);
+        assertThat(meterRegistry.get("mail.outbox.messages").tag("result", "dead").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.outbox.size").tag("status", "dead").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testDropEmailsOfDeletedUsers() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> userRepository.deleteById(userEntity.getId()));
+
+        int sent = dispatcher.dispatch();
+
+        assertThat(sent).isZero();
+        assertThat(mailSender.attempts).isZero();
+        assertThat(count("PENDING")).isZero();
+        assertThat(meterRegistry.get("mail.outbox.messages").tag("result", "dropped").counter().count()).isEqualTo(1);
+    }
+
+    private long count(String status) {
+        return jdbcTemplate.queryForObject("select count(*) from jhi_mail_outbox where status = ?", Long.class, status);
+    }
+
+    private static class RecordingMailSender extends JavaMailSenderImpl {
+
+        private final List<MimeMessage> sent = new ArrayList<>();
+
+        private boolean failing;
+
+        private int attempts;
+
+        @Override
+        public void send(MimeMessage... mimeMessages) {
+            attempts++;
+            if (failing) {
+                Map<Object, Exception> failures = Map.of(mimeMessages[0], new IllegalStateException("SMTP server unavailable"));
+                throw new MailSendException(failures);
+            }
+            sent.addAll(Arrays.asList(mimeMessages));
+        }
+    }
+}
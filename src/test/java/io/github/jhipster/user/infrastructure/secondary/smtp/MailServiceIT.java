@@ -25,6 +25,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -62,13 +63,16 @@ class MailServiceIT {
     @Captor
     private ArgumentCaptor<MimeMessage> messageCaptor;
 
+    @Mock
+    private MailOutbox mailOutbox;
+
     private MailService mailService;
 
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
         doNothing().when(javaMailSender).send(any(MimeMessage.class));
-        mailService = new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine);
+        mailService = new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine, mailOutbox);
     }
 
     @Test
@@ -134,12 +138,22 @@ class MailServiceIT {
     @Test
     void testSendEmailFromTemplate() throws Exception {
         UserEntity userEntity = new UserEntity();
+        userEntity.setId(1L);
         userEntity.setLogin("john");
         userEntity.setEmail("john.doe@example.com");
         userEntity.setLangKey("en");
         mailService.sendEmailFromTemplate(userEntity, "mail/testEmail", "email.test.title");
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        verify(mailOutbox).enqueue(1L, "mail/testEmail", "email.test.title", null, null);
+        verifyNoInteractions(javaMailSender);
+    }
+
+    @Test
+    void testCreateMessageFromTemplate() throws Exception {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setLogin("john");
+        userEntity.setEmail("john.doe@example.com");
+        userEntity.setLangKey("en");
+        MimeMessage message = mailService.createMessageFromTemplate(userEntity, "mail/testEmail", "email.test.title", null, null);
         assertThat(message.getSubject()).isEqualTo("test title");
         assertThat(message.getAllRecipients()[0]).hasToString(userEntity.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -150,46 +164,74 @@ class MailServiceIT {
     @Test
     void testSendActivationEmail() throws Exception {
         UserEntity userEntity = new UserEntity();
+        userEntity.setId(1L);
         userEntity.setLangKey(Constants.DEFAULT_LANGUAGE);
         userEntity.setLogin("john");
         userEntity.setEmail("john.doe@example.com");
+        userEntity.setActivationKey("activation");
         mailService.sendActivationEmail(userEntity);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        assertThat(message.getAllRecipients()[0]).hasToString(userEntity.getEmail());
-        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
-        assertThat(message.getContent().toString()).isNotEmpty();
-        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
+        verify(mailOutbox).enqueue(1L, "mail/activationEmail", "email.activation.title", "activation", null);
+        MimeMessage message = mailService.createMessageFromTemplate(
+            userEntity,
+            "mail/activationEmail",
+            "email.activation.title",
+            "activation",
+            null
+        );
+        assertThat(message.getSubject()).isNotEmpty();
+        assertThat(message.getContent().toString()).contains("/account/activate?key=activation");
     }
 
     @Test
     void testCreationEmail() throws Exception {
         UserEntity userEntity = new UserEntity();
+        userEntity.setId(1L);
         userEntity.setLangKey(Constants.DEFAULT_LANGUAGE);
         userEntity.setLogin("john");
         userEntity.setEmail("john.doe@example.com");
+        userEntity.setResetKey("reset");
         mailService.sendCreationEmail(userEntity);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        assertThat(message.getAllRecipients()[0]).hasToString(userEntity.getEmail());
-        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
-        assertThat(message.getContent().toString()).isNotEmpty();
-        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
+        verify(mailOutbox).enqueue(1L, "mail/creationEmail", "email.activation.title", null, "reset");
+        MimeMessage message = mailService.createMessageFromTemplate(
+            userEntity,
+            "mail/creationEmail",
+            "email.activation.title",
+            null,
+            "reset"
+        );
+        assertThat(message.getSubject()).isNotEmpty();
+        assertThat(message.getContent().toString()).contains("/account/reset/finish?key=reset");
     }
 
     @Test
     void testSendPasswordResetMail() throws Exception {
         UserEntity userEntity = new UserEntity();
+        userEntity.setId(1L);
         userEntity.setLangKey(Constants.DEFAULT_LANGUAGE);
         userEntity.setLogin("john");
         userEntity.setEmail("john.doe@example.com");
+        userEntity.setResetKey("reset");
         mailService.sendPasswordResetMail(userEntity);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        assertThat(message.getAllRecipients()[0]).hasToString(userEntity.getEmail());
-        assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
-        assertThat(message.getContent().toString()).isNotEmpty();
-        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
+        verify(mailOutbox).enqueue(1L, "mail/passwordResetEmail", "email.reset.title", null, "reset");
+        MimeMessage message = mailService.createMessageFromTemplate(
+            userEntity,
+            "mail/passwordResetEmail",
+            "email.reset.title",
+            null,
+            "reset"
+        );
+        assertThat(message.getSubject()).isNotEmpty();
+        assertThat(message.getContent().toString()).contains("/account/reset/finish?key=reset");
+    }
+
+    @Test
+    void testDoNotQueueEmailWithoutAddress() {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(1L);
+        userEntity.setLogin("john");
+        userEntity.setLangKey(Constants.DEFAULT_LANGUAGE);
+        mailService.sendActivationEmail(userEntity);
+        verifyNoInteractions(mailOutbox);
     }
 
     @Test
@@ -209,9 +251,13 @@ class MailServiceIT {
         userEntity.setEmail("john.doe@example.com");
         for (String langKey : languages) {
             userEntity.setLangKey(langKey);
-            mailService.sendEmailFromTemplate(userEntity, "mail/testEmail", "email.test.title");
-            verify(javaMailSender, atLeastOnce()).send(messageCaptor.capture());
-            MimeMessage message = messageCaptor.getValue();
+            MimeMessage message = mailService.createMessageFromTemplate(
+                userEntity,
+                "mail/testEmail",
+                "email.test.title",
+                null,
+                null
+            );
 
             String propertyFilePath = "i18n/messages_" + getJavaLocale(langKey) + ".properties";
             URL resource = this.getClass().getClassLoader().getResource(propertyFilePath);
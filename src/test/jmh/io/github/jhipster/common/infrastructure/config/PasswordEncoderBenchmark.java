@@ -0,0 +1,41 @@
+package io.github.jhipster.common.infrastructure.config;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Measures the login latency (password check) of each password encoding and cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    @Param({ "bcrypt:10", "bcrypt:12", "bcrypt:14", "pbkdf2", "argon2" })
+    private String encoding;
+
+    private PasswordEncoder passwordEncoder;
+
+    private String passwordHash;
+
+    @Setup
+    public void setup() {
+        ApplicationProperties.Security.PasswordEncoding passwordEncoding = new ApplicationProperties().getSecurity().getPasswordEncoding();
+        String[] encodingAndCost = encoding.split(":");
+        passwordEncoding.setEncodingId(encodingAndCost[0]);
+        if (encodingAndCost.length > 1) {
+            passwordEncoding.getBcrypt().setStrength(Integer.parseInt(encodingAndCost[1]));
+        }
+        passwordEncoder = PasswordEncoders.delegating(passwordEncoding);
+        passwordHash = passwordEncoder.encode("benchmark-password");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("benchmark-password", passwordHash);
+    }
+}
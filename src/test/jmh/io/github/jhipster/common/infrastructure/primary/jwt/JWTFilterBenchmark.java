@@ -0,0 +1,74 @@
+package io.github.jhipster.common.infrastructure.primary.jwt;
+
+import static org.mockito.Mockito.mock;
+
+import io.github.jhipster.common.domain.AuthoritiesConstants;
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Compares the parse-twice flow previously used by {@link JWTFilter} with the single-pass verification, and measures the
+ * bearer token extraction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTFilterBenchmark {
+
+    private TokenProvider tokenProvider;
+
+    private String jwt;
+
+    private JWTFilter jwtFilter;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties
+            .getSecurity()
+            .getAuthentication()
+            .getJwt()
+            .setBase64Secret("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8");
+        tokenProvider = new TokenProvider(jHipsterProperties);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            "benchmark-user",
+            "benchmark-password",
+            Arrays.asList(new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))
+        );
+        jwt = tokenProvider.createToken(authentication, false);
+        jwtFilter = new JWTFilter(tokenProvider, new VerifiedTokenCache(new ApplicationProperties(), mock(CacheManager.class)));
+        request = new MockHttpServletRequest();
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+    }
+
+    @Benchmark
+    public String resolveToken() {
+        return jwtFilter.resolveToken(request);
+    }
+
+    @Benchmark
+    public Authentication validateThenGetAuthentication() {
+        if (tokenProvider.validateToken(jwt)) {
+            return tokenProvider.getAuthentication(jwt);
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Authentication getVerifiedAuthentication() {
+        return tokenProvider.getVerifiedAuthentication(jwt).orElse(null);
+    }
+}
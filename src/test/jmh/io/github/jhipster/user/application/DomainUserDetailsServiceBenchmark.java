@@ -0,0 +1,85 @@
+package io.github.jhipster.user.application;
+
+import io.github.jhipster.common.domain.AuthoritiesConstants;
+import io.github.jhipster.common.infrastructure.config.ApplicationProperties;
+import io.github.jhipster.user.infrastructure.secondary.database.AuthorityEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DomainUserDetailsServiceBenchmark {
+
+    private static final int USER_COUNT = 1000;
+
+    @Param({ "false", "true" })
+    private boolean knownPrincipalsFilterEnabled;
+
+    private DomainUserDetailsService domainUserDetailsService;
+
+    @Setup
+    public void setup() {
+        AuthorityEntity authority = new AuthorityEntity();
+        authority.setName(AuthoritiesConstants.USER);
+        List<UserEntity> users = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            UserEntity user = new UserEntity();
+            user.setId((long) i);
+            user.setLogin("user-" + i);
+            user.setEmail("user-" + i + "@localhost");
+            user.setPassword("$2a$10$gSAhZrxMllrbgj/kkK9UceBPpChGWJA7SYIb1Mqo.n5aNLq1/oRrC");
+            user.setActivated(true);
+            user.setAuthorities(Collections.singleton(authority));
+            users.add(user);
+        }
+        UserRepository userRepository = InMemoryUserRepository.of(users);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getKnownPrincipals().setEnabled(knownPrincipalsFilterEnabled);
+        KnownPrincipalsFilter knownPrincipalsFilter = new KnownPrincipalsFilter(
+            userRepository,
+            applicationProperties,
+            new SimpleMeterRegistry()
+        );
+        knownPrincipalsFilter.rebuild();
+        UserPrincipalIndex userPrincipalIndex = new UserPrincipalIndex(
+            userRepository,
+            new ConcurrentMapCacheManager(UserPrincipalIndex.PRINCIPALS_CACHE),
+            applicationProperties,
+            new SimpleMeterRegistry(),
+            Runnable::run
+        );
+        domainUserDetailsService = new DomainUserDetailsService(userPrincipalIndex, knownPrincipalsFilter);
+    }
+
+    @Benchmark
+    public UserDetails loadUserByLogin() {
+        return domainUserDetailsService.loadUserByUsername("user-42");
+    }
+
+    @Benchmark
+    public UserDetails loadUserByEmail() {
+        return domainUserDetailsService.loadUserByUsername("user-42@localhost");
+    }
+
+    @Benchmark
+    public UserDetails loadUnknownUser() {
+        try {
+            return domainUserDetailsService.loadUserByUsername("unknown");
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.jhipster.user.application;
+
+import io.github.jhipster.user.infrastructure.secondary.database.UserEntity;
+import io.github.jhipster.user.infrastructure.secondary.database.UserRepository;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory stub of the {@link UserRepository} lookups, so that benchmarks do not measure the database.
+ */
+final class InMemoryUserRepository implements InvocationHandler {
+
+    private final Map<String, UserEntity> usersByLogin = new HashMap<>();
+
+    private final Map<String, UserEntity> usersByEmail = new HashMap<>();
+
+    private InMemoryUserRepository(Collection<UserEntity> users) {
+        users.forEach(
+            user -> {
+                usersByLogin.put(user.getLogin(), user);
+                if (user.getEmail() != null) {
+                    usersByEmail.put(user.getEmail().toLowerCase(Locale.ENGLISH), user);
+                }
+            }
+        );
+    }
+
+    static UserRepository of(Collection<UserEntity> users) {
+        return (UserRepository) Proxy.newProxyInstance(
+            UserRepository.class.getClassLoader(),
+            new Class<?>[] { UserRepository.class },
+            new InMemoryUserRepository(users)
+        );
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "findOneByLogin":
+            case "findOneWithAuthoritiesByLogin":
+                return Optional.ofNullable(usersByLogin.get((String) args[0]));
+            case "findOneByEmailIgnoreCase":
+                return Optional.ofNullable(usersByEmail.get(((String) args[0]).toLowerCase(Locale.ENGLISH)));
+            case "findAllWithAuthoritiesByLoginOrEmail":
+                return Stream
+                    .of(usersByEmail.get((String) args[0]), usersByLogin.get((String) args[0]))
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .collect(Collectors.toList());
+            case "streamAllLogins":
+                return usersByLogin.keySet().stream();
+            case "streamAllEmails":
+                return usersByEmail.keySet().stream();
+            case "toString":
+                return InMemoryUserRepository.class.getSimpleName();
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+}